@@ -5,7 +5,7 @@ import MyInvestments from './components/MyInvestments/MyInvestments';
 import ResumoWallet from './components/ResumoWallet/ResumoWallet';
 import Toast from './components/Toast/Toast';
 import './App.css';
-import { getSummary, getInvestments, type Summary, type Investment, type EvolutionData } from './services/api';
+import { getSummary, getInvestments, getEvolution, openPortfolioStream, type Summary, type Investment, type EvolutionData, type PositionValue } from './services/api';
 
 interface HeaderData {
   patrimonioTotal: number;
@@ -33,7 +33,7 @@ function App() {
   const [loading, setLoading] = useState(true);
 
   const [patrimonioTotal, setPatrimonioTotal] = useState(0);
-  const [currentPrices, setCurrentPrices] = useState(new Map<string, number>());
+  const [symbolPrices, setSymbolPrices] = useState(new Map<string, number>());
   const [transactions, setTransactions] = useState<Transaction[]>([]);
 
   const fetchInitialData = async () => {
@@ -41,12 +41,6 @@ function App() {
     try {
       const investments = await getInvestments();
       setInvestmentsData(investments);
-
-      const prices = new Map<string, number>();
-      investments.forEach(inv => {
-        prices.set(inv.id, inv.purchasePrice);
-      });
-      setCurrentPrices(prices);
       
       const buyTransactions: Transaction[] = investments.map(inv => ({
           date: inv.purchaseDate,
@@ -55,7 +49,7 @@ function App() {
       }));
       setTransactions(buyTransactions);
       
-      await refreshSummary();
+      await Promise.all([refreshSummary(), refreshEvolution()]);
       
     } catch (error) {
       console.error("Falha ao buscar dados iniciais:", error);
@@ -68,7 +62,7 @@ function App() {
       try {
           const investments = await getInvestments();
           setInvestmentsData(investments);
-          await refreshSummary();
+          await Promise.all([refreshSummary(), refreshEvolution()]);
       } catch (error) {
           console.error("Falha ao atualizar lista de investimentos:", error);
       }
@@ -83,54 +77,54 @@ function App() {
       }
   }
 
+  const refreshEvolution = async () => {
+      try {
+          const evolution = await getEvolution();
+          setPortfolioEvolutionData(evolution);
+      } catch(error){
+          console.error("Falha ao buscar evolução da carteira:", error);
+      }
+  }
+
 
   useEffect(() => {
     fetchInitialData();
   }, []);
   
   useEffect(() => {
-    const sortedTransactions = [...transactions].sort((a, b) => new Date(a.date).getTime() - new Date(b.date).getTime());
-    
-    let currentPatrimonio = 0;
-    const evolution: EvolutionData[] = [];
-
-    if (sortedTransactions.length > 0) {
-        const initialDate = new Date(sortedTransactions[0].date);
-        initialDate.setDate(initialDate.getDate() - 1);
-        evolution.push({ date: initialDate.toISOString().split('T')[0], totalValue: 0 });
-    }
-
-    sortedTransactions.forEach(t => {
-      if (t.type === 'buy') {
-        currentPatrimonio -= t.amount;
-      } else {
-        currentPatrimonio += t.amount;
-      }
-      evolution.push({ date: t.date, totalValue: currentPatrimonio });
-    });
-
+    // A curva de evolução vem do backend (/investments/evolution); aqui só o saldo das transações
+    const currentPatrimonio = transactions.reduce(
+      (acc, t) => (t.type === 'buy' ? acc - t.amount : acc + t.amount),
+      0
+    );
     setPatrimonioTotal(currentPatrimonio);
-    setPortfolioEvolutionData(evolution);
-
   }, [transactions]);
 
 
+  // Cotações e resumo chegam por push do backend em vez de polling/simulação no navegador
   useEffect(() => {
-    const intervalId = setInterval(() => {
-      setCurrentPrices(prevPrices => {
-        const newPrices = new Map(prevPrices);
-        investmentsData.forEach(inv => {
-          const currentPrice = newPrices.get(inv.id) || inv.purchasePrice;
-          const variation = (Math.random() * 0.02 - 0.01);
-          const newPrice = currentPrice * (1 + variation);
-          newPrices.set(inv.id, newPrice);
-        });
-        return newPrices;
+    const source = openPortfolioStream();
+    source.addEventListener('summary', event => {
+      setSummaryData(JSON.parse((event as MessageEvent).data));
+    });
+    source.addEventListener('positions', event => {
+      const positions: PositionValue[] = JSON.parse((event as MessageEvent).data);
+      setSymbolPrices(prev => {
+        const next = new Map(prev);
+        positions.forEach(position => next.set(position.symbol, position.price));
+        return next;
       });
-    }, 3000);
+    });
+    return () => source.close();
+  }, []);
 
-    return () => clearInterval(intervalId);
-  }, [investmentsData]);
+  const currentPrices = useMemo(() => {
+    const prices = new Map<string, number>();
+    investmentsData.forEach(inv => {
+      prices.set(inv.id, symbolPrices.get(inv.symbol) ?? inv.purchasePrice);
+    });
+    return prices;
+  }, [investmentsData, symbolPrices]);
 
   const headerData = useMemo<HeaderData | null>(() => {
     if (loading) return null;
@@ -27,6 +27,15 @@ export interface EvolutionData {
   totalValue: number;
 }
 
+export interface PositionValue {
+  symbol: string;
+  price: number;
+  quantity: number;
+  costBasis: number;
+  marketValue: number;
+  profitLoss: number;
+}
+
 // Funções da API
 export const getInvestments = (): Promise<Investment[]> =>
   api.get('/investments').then(response => response.data);
@@ -34,6 +43,9 @@ export const getInvestments = (): Promise<Investment[]> =>
 export const getSummary = (): Promise<Summary> =>
   api.get('/investments/summary').then(response => response.data);
 
+export const getEvolution = (granularity: 'day' | 'week' | 'month' = 'day'): Promise<EvolutionData[]> =>
+  api.get('/investments/evolution', { params: { granularity } }).then(response => response.data);
+
 export const createInvestment = (data: NewInvestmentData): Promise<Investment> =>
   api.post('/investments', data).then(response => response.data);
 
@@ -41,4 +53,8 @@ export const updateInvestment = (id: string, data: NewInvestmentData): Promise<I
   api.put(`/investments/${id}`, data).then(response => response.data);
 
 export const deleteInvestment = (id: string): Promise<void> => // Alterado para string
-  api.delete(`/investments/${id}`).then(response => response.data);
\ No newline at end of file
+  api.delete(`/investments/${id}`).then(response => response.data);
+
+// Atualizações em tempo real (SSE): eventos "summary" e "positions" (cotações por símbolo)
+export const openPortfolioStream = (): EventSource =>
+  new EventSource(`${api.defaults.baseURL}/investments/stream`);
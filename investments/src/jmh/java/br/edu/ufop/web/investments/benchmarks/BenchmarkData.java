@@ -0,0 +1,48 @@
+package br.edu.ufop.web.investments.benchmarks;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.Investment;
+
+// Carteiras sintéticas e determinísticas (semente fixa) para os benchmarks
+final class BenchmarkData {
+
+    static final int SYMBOL_COUNT = 500;
+
+    private static final AssetType[] TYPES = AssetType.values();
+    private static final LocalDate FIRST_DATE = LocalDate.of(2018, 1, 1);
+
+    private BenchmarkData() {
+    }
+
+    static List<Investment> investments(int count) {
+        Random random = new Random(42);
+        List<Investment> investments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            investments.add(Investment.builder()
+                    .id(new UUID(random.nextLong(), random.nextLong()))
+                    .type(TYPES[random.nextInt(TYPES.length)])
+                    .symbol(symbol(random.nextInt(SYMBOL_COUNT)))
+                    .quantity(1 + random.nextInt(1_000))
+                    .purchasePrice(BigDecimal.valueOf(1 + random.nextInt(10_000_000), 2))
+                    .purchaseDate(FIRST_DATE.plusDays(random.nextInt(2_500)))
+                    .build());
+        }
+        return investments;
+    }
+
+    static InvestmentRequestDTO request() {
+        return new InvestmentRequestDTO(AssetType.ACAO, "PETR4", 100, new BigDecimal("36.45"), LocalDate.of(2024, 5, 10));
+    }
+
+    static String symbol(int index) {
+        return "SYM" + index;
+    }
+}
@@ -0,0 +1,83 @@
+package br.edu.ufop.web.investments.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.edu.ufop.web.investments.converters.InvestmentConverter;
+import br.edu.ufop.web.investments.domain.InvestmentDomain;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.models.Investment;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvestmentConverterBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Single {
+
+        InvestmentConverter converter;
+        InvestmentRequestDTO request;
+        InvestmentDomain domain;
+        Investment model;
+
+        @Setup
+        public void setUp() {
+            converter = new InvestmentConverter();
+            request = BenchmarkData.request();
+            model = BenchmarkData.investments(1).get(0);
+            domain = converter.toDomain(model);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Portfolio {
+
+        @Param({ "1000", "100000", "1000000" })
+        int positions;
+
+        InvestmentConverter converter;
+        List<Investment> investments;
+
+        @Setup
+        public void setUp() {
+            converter = new InvestmentConverter();
+            investments = BenchmarkData.investments(positions);
+        }
+    }
+
+    @Benchmark
+    public InvestmentDomain toDomainFromRequest(Single state) {
+        return state.converter.toDomain(state.request);
+    }
+
+    @Benchmark
+    public InvestmentDomain toDomainFromModel(Single state) {
+        return state.converter.toDomain(state.model);
+    }
+
+    @Benchmark
+    public Investment toModel(Single state) {
+        return state.converter.toModel(state.domain);
+    }
+
+    @Benchmark
+    public InvestmentResponseDTO toResponseDto(Single state) {
+        return state.converter.toResponseDto(state.model);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<InvestmentResponseDTO> toResponseDtoList(Portfolio state) {
+        return state.converter.toResponseDtoList(state.investments);
+    }
+}
@@ -0,0 +1,48 @@
+package br.edu.ufop.web.investments.benchmarks;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import br.edu.ufop.web.investments.services.prices.PriceBook;
+
+// Ticks concorrentes no livro de preços com leitores simultâneos
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PriceBookBenchmark {
+
+    PriceBook priceBook;
+
+    @Setup
+    public void setUp() {
+        priceBook = new PriceBook(BenchmarkData.SYMBOL_COUNT);
+        for (int i = 0; i < BenchmarkData.SYMBOL_COUNT; i++) {
+            priceBook.update(priceBook.register(BenchmarkData.symbol(i)), 1_000_000_000L, 0);
+        }
+    }
+
+    @Benchmark
+    @Group("ticks")
+    @GroupThreads(3)
+    public void tick() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        priceBook.update(random.nextInt(BenchmarkData.SYMBOL_COUNT), 1 + random.nextInt(1_000_000_000), System.currentTimeMillis());
+    }
+
+    @Benchmark
+    @Group("ticks")
+    @GroupThreads(1)
+    public long read() {
+        return priceBook.scaledPrice(ThreadLocalRandom.current().nextInt(BenchmarkData.SYMBOL_COUNT));
+    }
+}
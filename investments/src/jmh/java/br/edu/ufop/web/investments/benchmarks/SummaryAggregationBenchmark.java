@@ -0,0 +1,83 @@
+package br.edu.ufop.web.investments.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.InvestimentsApplication;
+import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// GET /investments/summary sem o cache: SUM/COUNT por tipo no banco (sumTotalsByType) e a montagem do
+// SummaryDTO, numa transação somente-leitura, com a carteira em 1 mil, 100 mil e 1 milhão de lotes.
+// Sobe a aplicação sem servidor web contra o PostgreSQL de application.properties, como os testes
+// (ddl-auto=create recria o schema), e insere os lotes numa carteira própria, removida no fim.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SummaryAggregationBenchmark {
+
+    private static final String PORTFOLIO = "jmh-summary";
+
+    @Param({ "1000", "100000", "1000000" })
+    int positions;
+
+    ConfigurableApplicationContext context;
+    InvestmentService investmentService;
+    TransactionTemplate readOnlyTransaction;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(InvestimentsApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("investments.prices.simulated.enabled=false", "logging.level.root=warn")
+                .run();
+        // O bean é um proxy com @Cacheable; o alvo executa a consulta a cada chamada
+        investmentService = (InvestmentService) AopProxyUtils.getSingletonTarget(context.getBean(InvestmentService.class));
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM investments WHERE portfolio = ?", PORTFOLIO);
+        jdbcTemplate.update("""
+                INSERT INTO investments (id, portfolio, type, symbol, quantity, purchase_price, purchase_date, version)
+                SELECT gen_random_uuid(),
+                       ?,
+                       (ARRAY['ACAO', 'CRIPTO', 'FUNDO', 'RENDA_FIXA', 'OUTRO'])[1 + i % 5],
+                       'SYM' || (i % ?),
+                       1 + i % 1000,
+                       (i % 100000) / 100.0 + 0.01,
+                       DATE '2018-01-01' + (i % 2500),
+                       0
+                FROM generate_series(1, ?) AS i
+                """, PORTFOLIO, BenchmarkData.SYMBOL_COUNT, positions);
+        jdbcTemplate.execute("ANALYZE investments");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getBean(JdbcTemplate.class).update("DELETE FROM investments WHERE portfolio = ?", PORTFOLIO);
+        context.close();
+    }
+
+    @Benchmark
+    public SummaryDTO sumTotalsByType() {
+        return PortfolioContext.call(PORTFOLIO, () -> readOnlyTransaction.execute(status -> investmentService.getSummary()));
+    }
+}
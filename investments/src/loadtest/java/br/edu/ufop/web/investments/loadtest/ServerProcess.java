@@ -0,0 +1,105 @@
+package br.edu.ufop.web.investments.loadtest;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Uma instância da aplicação num processo separado, em porta livre, com a saída em arquivo.
+// Assim o gerador de carga e o serviço medido não disputam a mesma JVM (heap, coletor, threads).
+class ServerProcess implements AutoCloseable {
+
+    private final Process process;
+    private final int port;
+    private final long startNanos;
+    private final Path log;
+
+    private ServerProcess(Process process, int port, long startNanos, Path log) {
+        this.process = process;
+        this.port = port;
+        this.startNanos = startNanos;
+        this.log = log;
+    }
+
+    // Acrescenta ao comando a porta e as opções comuns às medições e inicia o processo
+    static ServerProcess start(List<String> command, Path log) throws IOException {
+        int port = freePort();
+        List<String> arguments = new ArrayList<>(command);
+        arguments.add("--server.port=" + port);
+        arguments.add("--investments.prices.simulated.enabled=false");
+        arguments.add("--spring.devtools.restart.enabled=false");
+        arguments.add("--spring.docker.compose.enabled=false");
+
+        long startNanos = System.nanoTime();
+        Process process = new ProcessBuilder(arguments)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+        return new ServerProcess(process, port, startNanos, log);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    // Espera o primeiro 200 de GET /investments/summary; devolve o tempo desde o início do processo
+    long awaitFirstResponse(HttpClient client, Duration timeout) throws InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl() + "/investments/summary"))
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        long deadline = startNanos + timeout.toNanos();
+        while (true) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("A instância terminou antes de responder; veja " + log);
+            }
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Sem resposta em " + timeout + "; veja " + log);
+            }
+            try {
+                if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return System.nanoTime() - startNanos;
+                }
+            } catch (IOException e) {
+                // Ainda subindo
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    // VmRSS de /proc/<pid>/status; -1 fora do Linux
+    long residentKilobytes() throws IOException {
+        File status = new File("/proc/" + process.pid() + "/status");
+        if (!status.exists()) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(status.toPath())) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("[^0-9]", ""));
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
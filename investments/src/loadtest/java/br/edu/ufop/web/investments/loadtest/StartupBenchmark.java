@@ -0,0 +1,85 @@
+package br.edu.ufop.web.investments.loadtest;
+
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Tempo até a primeira resposta e memória residente (RSS) de uma instância nova, em três configurações:
+// a atual (jar com ddl-auto=create e beans criados na subida), o perfil prod (migrações e inicialização
+// preguiçosa) e o perfil prod com AOT e o arquivo CDS gerados pelo profile Maven fast-startup.
+// Cada modo sobe `startup.runs` vezes como um processo separado, em porta livre; o tempo vai do início do
+// processo até o primeiro 200 de GET /investments/summary, e a RSS é lida logo depois, em /proc (Linux).
+// Usa o PostgreSQL de application.properties; o modo atual recria o schema a cada subida.
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    public static void main(String[] args) throws Exception {
+        Path target = Path.of(System.getProperty("startup.target", "target"));
+        String jar = System.getProperty("startup.jar", "investiments-0.0.1-SNAPSHOT.jar");
+        String java = System.getProperty("startup.java", "java");
+        int runs = Integer.getInteger("startup.runs", 5);
+
+        Path fatJar = target.resolve(jar);
+        Path extractedJar = target.resolve("app").resolve(jar);
+        Path archive = target.resolve("app").resolve("application.jsa");
+        if (!Files.exists(extractedJar) || !Files.exists(archive)) {
+            throw new IllegalStateException("Gere antes o build de subida rápida: ./mvnw -Pfast-startup package");
+        }
+
+        Map<String, List<String>> modes = new LinkedHashMap<>();
+        modes.put("atual", List.of(java, "-jar", fatJar.toString()));
+        modes.put("prod", List.of(java, "-jar", extractedJar.toString(), "--spring.profiles.active=prod"));
+        modes.put("prod+aot+cds", List.of(java, "-XX:SharedArchiveFile=" + archive, "-Xlog:cds=off",
+                "-Dspring.aot.enabled=true", "-jar", extractedJar.toString(), "--spring.profiles.active=prod"));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> mode : modes.entrySet()) {
+            Result result = new Result();
+            for (int run = 0; run < runs; run++) {
+                result.add(start(client, mode.getValue(), target.resolve("startup-" + mode.getKey() + "-" + run + ".log")));
+            }
+            results.put(mode.getKey(), result);
+        }
+
+        System.out.printf("%nSubidas por modo: %d (mediana, mínimo e máximo)%n", runs);
+        System.out.printf("%-14s %12s %12s %12s %12s%n", "modo", "1ª resp. ms", "mín ms", "máx ms", "RSS MB");
+        results.forEach((mode, result) -> result.print(mode));
+    }
+
+    // Sobe uma instância, espera a primeira resposta, mede e encerra
+    private static long[] start(HttpClient client, List<String> command, Path log) throws Exception {
+        try (ServerProcess server = ServerProcess.start(command, log)) {
+            long firstResponseNanos = server.awaitFirstResponse(client, TIMEOUT);
+            return new long[] { firstResponseNanos, server.residentKilobytes() };
+        }
+    }
+
+    private static class Result {
+
+        private final List<long[]> samples = new ArrayList<>();
+
+        void add(long[] sample) {
+            samples.add(sample);
+        }
+
+        void print(String mode) {
+            long[] times = samples.stream().mapToLong(sample -> sample[0]).sorted().toArray();
+            long[] rss = samples.stream().mapToLong(sample -> sample[1]).sorted().toArray();
+            System.out.printf("%-14s %12.0f %12.0f %12.0f %12s%n", mode,
+                    median(times) / 1e6, times[0] / 1e6, times[times.length - 1] / 1e6,
+                    rss[0] < 0 ? "n/d" : String.format("%.0f", median(rss) / 1024.0));
+        }
+
+        private static double median(long[] sorted) {
+            int middle = sorted.length / 2;
+            return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+        }
+    }
+}
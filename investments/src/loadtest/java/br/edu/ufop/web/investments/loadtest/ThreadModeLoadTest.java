@@ -0,0 +1,232 @@
+package br.edu.ufop.web.investments.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Carga HTTP comparando threads de plataforma e virtuais no mesmo serviço e no mesmo banco
+// (o PostgreSQL de application.properties; o schema é recriado a cada subida).
+// Para cada modo, sobe o jar empacotado num processo separado (como StartupBenchmark), aquece e mede por
+// um tempo fixo: cada usuário repete criar → consultar → atualizar → resumo → excluir, num símbolo só dele,
+// para não medir a espera pelas travas de linha da posição do razão e do rollup do símbolo. As threads dos
+// usuários ficam nesta JVM, longe do heap e do coletor do serviço. Ao fim imprime vazão, p50 e p99 por
+// operação e os erros (503 do limite de concorrência entram aqui).
+// O serviço roda no mesmo executável java desta JVM (loadtest.java); as threads virtuais exigem Java 21+,
+// e em versão anterior o modo "virtual" roda com threads de plataforma.
+public class ThreadModeLoadTest {
+
+    private static final String[] OPERATIONS = { "POST /investments", "GET /investments/{id}",
+            "PUT /investments/{id}", "GET /investments/summary", "DELETE /investments/{id}" };
+
+    private static final Duration STARTUP_TIMEOUT = Duration.ofMinutes(2);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 400);
+        int warmupSeconds = Integer.getInteger("loadtest.warmupSeconds", 10);
+        int seconds = Integer.getInteger("loadtest.seconds", 30);
+        Path target = Path.of(System.getProperty("loadtest.target", "target"));
+        Path jar = target.resolve(System.getProperty("loadtest.jar", "investiments-0.0.1-SNAPSHOT.jar"));
+        String java = System.getProperty("loadtest.serverJava", "java");
+        if (!Files.exists(jar)) {
+            throw new IllegalStateException("Empacote antes o serviço: ./mvnw -Ploadtest -DskipTests package exec:exec@loadtest");
+        }
+
+        if (Runtime.version().feature() < 21) {
+            System.out.println("Aviso: Java " + Runtime.version().feature()
+                    + " não tem threads virtuais; os dois modos usarão threads de plataforma.");
+        }
+
+        Map<String, Result> results = new LinkedHashMap<>();
+        for (String mode : List.of("platform", "virtual")) {
+            List<String> command = List.of(java, "-jar", jar.toString(), "--spring.threads.virtual.enabled=" + mode.equals("virtual"));
+            results.put(mode, run(command, target.resolve("loadtest-" + mode + ".log"), users, warmupSeconds, seconds));
+        }
+
+        System.out.printf("%nUsuários simultâneos: %d, medição: %d s%n", users, seconds);
+        System.out.printf("%-10s %-28s %10s %10s %10s %8s%n", "modo", "operação", "req/s", "p50 ms", "p99 ms", "erros");
+        results.forEach((mode, result) -> result.print(mode, seconds));
+    }
+
+    private static Result run(List<String> command, Path log, int users, int warmupSeconds, int seconds) throws Exception {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        try (ServerProcess server = ServerProcess.start(command, log)) {
+            server.awaitFirstResponse(client, STARTUP_TIMEOUT);
+
+            measure(client, server.baseUrl(), users, warmupSeconds);
+            return measure(client, server.baseUrl(), users, seconds);
+        }
+    }
+
+    private static Result measure(HttpClient client, String baseUrl, int users, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        Result result = new Result();
+        List<Worker> workers = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(users);
+        for (int i = 0; i < users; i++) {
+            Worker worker = new Worker(client, baseUrl, deadline, i);
+            workers.add(worker);
+            executor.execute(worker);
+        }
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+        workers.forEach(worker -> result.add(worker));
+        return result;
+    }
+
+    // Um usuário: repete o ciclo até o prazo, guardando a latência de cada chamada por operação
+    private static class Worker implements Runnable {
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final long deadline;
+        private final int index;
+        private final LongList[] latencies = new LongList[OPERATIONS.length];
+        private final long[] errors = new long[OPERATIONS.length];
+
+        Worker(HttpClient client, String baseUrl, long deadline, int index) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.deadline = deadline;
+            this.index = index;
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                latencies[i] = new LongList();
+            }
+        }
+
+        @Override
+        public void run() {
+            String body = "{\"type\":\"ACAO\",\"symbol\":\"LOAD" + index
+                    + "\",\"quantity\":10,\"purchasePrice\":12.34,\"purchaseDate\":\"2024-01-02\"}";
+            while (System.nanoTime() < deadline) {
+                HttpResponse<String> created = call(0, HttpRequest.newBuilder(URI.create(baseUrl + "/investments"))
+                        .POST(HttpRequest.BodyPublishers.ofString(body)));
+                if (created == null) {
+                    continue;
+                }
+                String id;
+                try {
+                    id = MAPPER.readTree(created.body()).get("id").asText();
+                } catch (Exception e) {
+                    errors[0]++;
+                    continue;
+                }
+                URI item = URI.create(baseUrl + "/investments/" + id);
+                call(1, HttpRequest.newBuilder(item).GET());
+                call(2, HttpRequest.newBuilder(item).PUT(HttpRequest.BodyPublishers.ofString(body)));
+                call(3, HttpRequest.newBuilder(URI.create(baseUrl + "/investments/summary")).GET());
+                call(4, HttpRequest.newBuilder(item).DELETE());
+            }
+        }
+
+        // Devolve a resposta se for 2xx; caso contrário conta o erro e devolve null
+        private HttpResponse<String> call(int operation, HttpRequest.Builder request) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<String> response = client.send(
+                        request.header("Content-Type", "application/json").timeout(Duration.ofSeconds(60)).build(),
+                        HttpResponse.BodyHandlers.ofString());
+                latencies[operation].add(System.nanoTime() - start);
+                if (response.statusCode() / 100 != 2) {
+                    errors[operation]++;
+                    return null;
+                }
+                return response;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                errors[operation]++;
+                return null;
+            } catch (Exception e) {
+                errors[operation]++;
+                return null;
+            }
+        }
+    }
+
+    private static class Result {
+
+        private final LongList[] latencies = new LongList[OPERATIONS.length];
+        private final AtomicLong[] errors = new AtomicLong[OPERATIONS.length];
+
+        Result() {
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                latencies[i] = new LongList();
+                errors[i] = new AtomicLong();
+            }
+        }
+
+        void add(Worker worker) {
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                latencies[i].addAll(worker.latencies[i]);
+                errors[i].addAndGet(worker.errors[i]);
+            }
+        }
+
+        void print(String mode, int seconds) {
+            LongList all = new LongList();
+            long allErrors = 0;
+            for (int i = 0; i < OPERATIONS.length; i++) {
+                printLine(mode, OPERATIONS[i], latencies[i], errors[i].get(), seconds);
+                all.addAll(latencies[i]);
+                allErrors += errors[i].get();
+            }
+            printLine(mode, "total", all, allErrors, seconds);
+        }
+
+        private static void printLine(String mode, String operation, LongList latencies, long errors, int seconds) {
+            long[] sorted = latencies.sorted();
+            System.out.printf("%-10s %-28s %10.1f %10.2f %10.2f %8d%n", mode, operation,
+                    (double) sorted.length / seconds, percentile(sorted, 0.50), percentile(sorted, 0.99), errors);
+        }
+
+        private static double percentile(long[] sorted, double quantile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(quantile * sorted.length) - 1;
+            return sorted[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+
+    // Lista de long sem boxing, para não medir o coletor de lixo do próprio gerador de carga
+    private static class LongList {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void addAll(LongList other) {
+            for (int i = 0; i < other.size; i++) {
+                add(other.values[i]);
+            }
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(values, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
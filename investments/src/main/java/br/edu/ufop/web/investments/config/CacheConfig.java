@@ -0,0 +1,32 @@
+package br.edu.ufop.web.investments.config;
+
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    public static final String INVESTMENTS_CACHE = "investments";
+    public static final String SUMMARY_CACHE = "summary";
+
+    // Chaves (SpEL) qualificadas pela carteira corrente, para uma carteira nunca receber o valor de outra.
+    // As escritas removem as entradas que afetam (InvestmentCacheInvalidator)
+    public static final String PORTFOLIO_KEY = "T(br.edu.ufop.web.investments.tenancy.PortfolioContext).cacheKey()";
+    public static final String PORTFOLIO_ID_KEY = "T(br.edu.ufop.web.investments.tenancy.PortfolioContext).cacheKey(#id)";
+
+    @Bean
+    public CacheManager cacheManager(CacheProperties cacheProperties) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCacheSpecification(cacheProperties.getCaffeine().getSpec());
+        caffeineCacheManager.setCacheNames(cacheProperties.getCacheNames());
+        caffeineCacheManager.setAllowNullValues(false);
+        return caffeineCacheManager;
+    }
+}
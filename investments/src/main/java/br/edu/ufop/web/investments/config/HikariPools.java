@@ -0,0 +1,52 @@
+package br.edu.ufop.web.investments.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Pools criados fora da autoconfiguração (shards, primário e réplicas), com as mesmas configurações de
+// spring.datasource.hikari.* e métricas no Micrometer
+class HikariPools {
+
+    private final HikariConfig template;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    HikariPools(Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.template = Binder.get(environment)
+                .bind("spring.datasource.hikari", HikariConfig.class)
+                .orElseGet(HikariConfig::new);
+        this.meterRegistry = meterRegistry;
+    }
+
+    HikariDataSource create(String poolName, String url, String username, String password) {
+        return new HikariDataSource(config(poolName, url, username, password));
+    }
+
+    // Uma réplica fora do ar não impede a aplicação de subir: o pool tenta de novo a cada conexão pedida
+    HikariDataSource createReplica(String poolName, String url, String username, String password, Duration connectionTimeout) {
+        HikariConfig config = config(poolName, url, username, password);
+        config.setInitializationFailTimeout(-1);
+        config.setConnectionTimeout(connectionTimeout.toMillis());
+        config.setReadOnly(true);
+        return new HikariDataSource(config);
+    }
+
+    private HikariConfig config(String poolName, String url, String username, String password) {
+        HikariConfig config = new HikariConfig();
+        template.copyStateTo(config);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setPoolName(poolName);
+        meterRegistry.ifAvailable(registry -> config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return config;
+    }
+}
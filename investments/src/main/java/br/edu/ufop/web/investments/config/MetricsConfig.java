@@ -0,0 +1,26 @@
+package br.edu.ufop.web.investments.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import br.edu.ufop.web.investments.metrics.EntityLoadMetrics;
+
+@Configuration
+public class MetricsConfig {
+
+    @Autowired
+    private EntityLoadMetrics entityLoadMetrics;
+
+    @Bean
+    public WebMvcConfigurer entityLoadMetricsConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(entityLoadMetrics).addPathPatterns("/investments/**");
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package br.edu.ufop.web.investments.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import br.edu.ufop.web.investments.tenancy.PortfolioFilter;
+
+@Configuration
+public class PortfolioConfig {
+
+    @Bean
+    public FilterRegistrationBean<PortfolioFilter> portfolioFilter(ObjectMapper objectMapper) {
+        FilterRegistrationBean<PortfolioFilter> registration = new FilterRegistrationBean<>(new PortfolioFilter(objectMapper));
+        registration.addUrlPatterns("/investments/*");
+        return registration;
+    }
+
+    // Aplicado pelo Spring Boot ao executor das respostas em streaming (exportação, NDJSON, importação),
+    // que rodam fora da thread da requisição e precisam continuar na mesma carteira
+    @Bean
+    public TaskDecorator portfolioTaskDecorator() {
+        return PortfolioContext::wrap;
+    }
+}
@@ -0,0 +1,73 @@
+package br.edu.ufop.web.investments.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import br.edu.ufop.web.investments.replication.ReadYourWrites;
+import br.edu.ufop.web.investments.replication.ReplicaAwareTransactionManager;
+import br.edu.ufop.web.investments.replication.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Com investments.replication.enabled=true, transações @Transactional(readOnly = true) leem das réplicas
+// e o resto vai ao primário (spring.datasource.*). Com sharding, cada shard usa as próprias réplicas (ShardingConfig).
+@Configuration
+@ConditionalOnProperty(name = "investments.replication.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(ReplicationProperties properties) {
+        return new ReadYourWrites(properties.getReadYourWrites());
+    }
+
+    // Substitui o JpaTransactionManager da autoconfiguração, com os mesmos customizadores
+    @Bean
+    public ReplicaAwareTransactionManager transactionManager(EntityManagerFactory entityManagerFactory,
+            ReadYourWrites readYourWrites, ObjectProvider<TransactionManagerCustomizers> customizers) {
+        ReplicaAwareTransactionManager transactionManager = new ReplicaAwareTransactionManager(entityManagerFactory, readYourWrites);
+        customizers.ifAvailable(customizer -> customizer.customize(transactionManager));
+        return transactionManager;
+    }
+
+    @Bean
+    @Primary
+    @ConditionalOnProperty(name = "investments.sharding.enabled", havingValue = "false", matchIfMissing = true)
+    public ReplicaRoutingDataSource dataSource(DataSourceProperties dataSourceProperties, ReplicationProperties properties,
+            ReadYourWrites readYourWrites, Environment environment, ObjectProvider<MeterRegistry> meterRegistry) {
+        if (properties.getReplicas().isEmpty()) {
+            throw new IllegalStateException("investments.replication.enabled=true exige ao menos uma réplica em investments.replication.replicas.");
+        }
+        HikariPools pools = new HikariPools(environment, meterRegistry);
+        String username = dataSourceProperties.determineUsername();
+        String password = dataSourceProperties.determinePassword();
+        DataSource primary = pools.create("primary", dataSourceProperties.determineUrl(), username, password);
+        List<DataSource> replicas = replicas(pools, properties, properties.getReplicas(), "replica-", username, password);
+        return new ReplicaRoutingDataSource(primary, replicas, readYourWrites);
+    }
+
+    static List<DataSource> replicas(HikariPools pools, ReplicationProperties properties,
+            List<ReplicationProperties.Replica> replicas, String poolPrefix, String primaryUsername, String primaryPassword) {
+        List<DataSource> dataSources = new ArrayList<>();
+        for (int index = 0; index < replicas.size(); index++) {
+            ReplicationProperties.Replica replica = replicas.get(index);
+            dataSources.add(pools.createReplica(poolPrefix + index, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : primaryUsername,
+                    replica.getPassword() != null ? replica.getPassword() : primaryPassword,
+                    properties.getConnectionTimeout()));
+        }
+        return dataSources;
+    }
+}
@@ -0,0 +1,34 @@
+package br.edu.ufop.web.investments.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// investments.replication.*: réplicas de leitura do banco único (com sharding, as de cada shard ficam em
+// investments.sharding.shards[n].replicas). Usuário e senha ausentes herdam os do primário.
+@Data
+@ConfigurationProperties(prefix = "investments.replication")
+public class ReplicationProperties {
+
+    private boolean enabled;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Por quanto tempo, após uma escrita confirmada, as leituras da carteira continuam no primário (0 desliga)
+    private Duration readYourWrites = Duration.ofSeconds(2);
+
+    // Espera máxima por uma conexão de réplica antes de a leitura ir ao primário
+    private Duration connectionTimeout = Duration.ofSeconds(1);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+}
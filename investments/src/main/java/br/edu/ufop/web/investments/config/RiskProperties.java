@@ -0,0 +1,49 @@
+package br.edu.ufop.web.investments.config;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import lombok.Data;
+
+// investments.risk.*: parâmetros da simulação de Monte Carlo de /investments/risk.
+// Volatilidade e retorno esperado são anuais; o horizonte é em dias úteis (252 por ano).
+@Data
+@ConfigurationProperties(prefix = "investments.risk")
+public class RiskProperties {
+
+    private int scenarios = 100_000;
+    private int maxScenarios = 1_000_000;
+    private long seed = 42;
+    private int horizonDays = 1;
+
+    // Cenários por tarefa do pool; cada tarefa tem o próprio gerador
+    private int chunkSize = 4_096;
+
+    private int histogramBuckets = 40;
+    private List<Double> confidenceLevels = new ArrayList<>(List.of(0.95, 0.99));
+
+    private Map<AssetType, TypeParameters> types = new EnumMap<>(AssetType.class);
+
+    public TypeParameters parameters(AssetType type) {
+        return types.getOrDefault(type, TypeParameters.DEFAULT);
+    }
+
+    // Retorno de um símbolo = fator do tipo (que por sua vez é ligado ao fator de mercado) + ruído próprio
+    @Data
+    public static class TypeParameters {
+
+        private static final TypeParameters DEFAULT = new TypeParameters();
+
+        private double volatility = 0.25;
+        private double drift = 0;
+        // Correlação de cada símbolo com o fator do tipo: dois símbolos do mesmo tipo têm correlação igual ao quadrado
+        private double typeCorrelation = 0.5;
+        // Correlação do fator do tipo com o fator de mercado, comum a todos os tipos
+        private double marketCorrelation = 0.5;
+    }
+}
@@ -0,0 +1,95 @@
+package br.edu.ufop.web.investments.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.relational.SchemaManager;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import br.edu.ufop.web.investments.replication.ReadYourWrites;
+import br.edu.ufop.web.investments.replication.ReplicaRoutingDataSource;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import br.edu.ufop.web.investments.tenancy.ShardRoutingDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Com investments.sharding.enabled=true, o DataSource da aplicação passa a rotear cada carteira para um
+// dos shards listados em investments.sharding.shards[n].url/username/password. Cada shard tem seu pool,
+// com as mesmas configurações de spring.datasource.hikari.* (tamanho, timeouts, reWriteBatchedInserts).
+// Com investments.replication.enabled=true, as réplicas em investments.sharding.shards[n].replicas atendem
+// as leituras do shard.
+@Configuration
+@ConditionalOnProperty(name = "investments.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public ShardRoutingDataSource dataSource(ShardingProperties properties, Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry, ObjectProvider<ReadYourWrites> readYourWrites,
+            ObjectProvider<ReplicationProperties> replicationProperties) {
+        if (properties.getShards().isEmpty()) {
+            throw new IllegalStateException("investments.sharding.enabled=true exige ao menos um shard em investments.sharding.shards.");
+        }
+        HikariPools pools = new HikariPools(environment, meterRegistry);
+        ReadYourWrites replication = readYourWrites.getIfAvailable();
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int index = 0; index < properties.getShards().size(); index++) {
+            ShardingProperties.Shard shard = properties.getShards().get(index);
+            DataSource primary = pools.create("shard-" + index, shard.getUrl(), shard.getUsername(), shard.getPassword());
+            if (replication != null && !shard.getReplicas().isEmpty()) {
+                List<DataSource> replicas = ReplicationConfig.replicas(pools, replicationProperties.getObject(),
+                        shard.getReplicas(), "shard-" + index + "-replica-", shard.getUsername(), shard.getPassword());
+                shards.add(new ReplicaRoutingDataSource(primary, replicas, replication));
+            } else {
+                shards.add(primary);
+            }
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    // O Flyway recebe o DataSource roteado e migraria só o shard da carteira padrão: aqui ele roda em cada shard
+    @Bean
+    public FlywayMigrationStrategy shardedFlywayMigration(ShardRoutingDataSource dataSource) {
+        return flyway -> {
+            for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+                dataSource.runOnShard(shard, flyway::migrate);
+            }
+        };
+    }
+
+    // Com ddl-auto=create o Hibernate cria o schema só no shard da carteira padrão; os demais são criados aqui,
+    // antes de o servidor aceitar requisições
+    @Bean
+    public SmartInitializingSingleton shardSchemaInitializer(EntityManagerFactory entityManagerFactory,
+            ShardRoutingDataSource dataSource, @Value("${spring.jpa.hibernate.ddl-auto:none}") String ddlAuto) {
+        return () -> {
+            if (!"create".equals(ddlAuto.trim())) {
+                return;
+            }
+            SchemaManager schemaManager = entityManagerFactory.unwrap(SessionFactory.class).getSchemaManager();
+            int bootstrapShard = dataSource.shardOf(PortfolioContext.DEFAULT_PORTFOLIO);
+            for (int shard = 0; shard < dataSource.shardCount(); shard++) {
+                if (shard != bootstrapShard) {
+                    dataSource.runOnShard(shard, () -> {
+                        schemaManager.dropMappedObjects(false);
+                        schemaManager.exportMappedObjects(false);
+                    });
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,27 @@
+package br.edu.ufop.web.investments.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+// investments.sharding.*: instâncias do PostgreSQL entre as quais as carteiras são distribuídas
+@Data
+@ConfigurationProperties(prefix = "investments.sharding")
+public class ShardingProperties {
+
+    private boolean enabled;
+
+    private List<Shard> shards = new ArrayList<>();
+
+    @Data
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+        private List<ReplicationProperties.Replica> replicas = new ArrayList<>();
+    }
+}
@@ -0,0 +1,21 @@
+package br.edu.ufop.web.investments.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Configuration
+public class StartupConfig {
+
+    // Com spring.main.lazy-initialization (perfil prod), as migrações e a validação do schema continuam na subida:
+    // uma instância com schema incompatível falha antes de entrar no balanceador, e não na primeira requisição
+    @Bean
+    static LazyInitializationExcludeFilter eagerSchemaBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(FlywayMigrationInitializer.class,
+                EntityManagerFactory.class, AbstractEntityManagerFactoryBean.class);
+    }
+}
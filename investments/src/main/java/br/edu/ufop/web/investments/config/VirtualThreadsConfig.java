@@ -0,0 +1,45 @@
+package br.edu.ufop.web.investments.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import br.edu.ufop.web.investments.filters.ConcurrencyLimitFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Modo experimental de threads virtuais (spring.threads.virtual.enabled=true). O build é Java 17, onde a opção
+// não tem efeito e esta configuração não é carregada; só rodando em Java 21+ o modo liga, e o dimensionamento
+// abaixo ainda não foi validado por uma medição real (ThreadModeLoadTest). Ligado, o Spring Boot
+// passa o Tomcat, as tarefas assíncronas (streaming das exportações e de GET /investments/stream) e os
+// agendamentos para threads virtuais; a gravação das importações segue o mesmo modo. As análises
+// continuam no pool ForkJoin (AnalyticsConfig), porque são cálculo e não espera.
+// O que limita a vazão passa a ser o pool de conexões, então a entrada é limitada por ele: as requisições
+// pelo filtro abaixo, as respostas em streaming pelo StreamingLimiter (até o fim da transferência), as
+// importações por investments.import.max-concurrent e as tarefas assíncronas por
+// spring.task.execution.simple.concurrency-limit.
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    // Sem limite explícito, o dobro do pool de conexões: parte de cada requisição (JSON, cache) não usa conexão
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${investments.threads.virtual.max-concurrent-requests:0}") int maxConcurrentRequests,
+            @Value("${investments.threads.virtual.queue-timeout-ms:10000}") long queueTimeoutMs,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+            MeterRegistry meterRegistry) {
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(
+                maxConcurrentRequests > 0 ? maxConcurrentRequests : 2 * connectionPoolSize, queueTimeoutMs);
+        Gauge.builder("investments.requests.queued", filter, ConcurrencyLimitFilter::queued)
+                .description("Requisições aguardando vaga no limite de concorrência")
+                .register(meterRegistry);
+
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/investments/*");
+        return registration;
+    }
+}
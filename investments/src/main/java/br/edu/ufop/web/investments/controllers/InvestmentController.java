@@ -1,64 +1,247 @@
 package br.edu.ufop.web.investments.controllers;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.edu.ufop.web.investments.dtos.AnalyticsDTO;
+import br.edu.ufop.web.investments.dtos.BatchResultDTO;
+import br.edu.ufop.web.investments.dtos.EvolutionDataDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentBatchUpdateItemDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentFilterDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentPageDTO;
 import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
 import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.dtos.LedgerDTO;
+import br.edu.ufop.web.investments.dtos.PositionDTO;
+import br.edu.ufop.web.investments.dtos.QuoteDTO;
+import br.edu.ufop.web.investments.dtos.RiskDTO;
 import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.dtos.TransactionRequestDTO;
+import br.edu.ufop.web.investments.dtos.TransactionResponseDTO;
+import br.edu.ufop.web.investments.dtos.ValuationDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.ExportFormat;
+import br.edu.ufop.web.investments.enums.ImportFormat;
+import br.edu.ufop.web.investments.services.InvestmentBatchService;
+import br.edu.ufop.web.investments.services.InvestmentExportService;
+import br.edu.ufop.web.investments.services.InvestmentImportService;
+import br.edu.ufop.web.investments.services.IdempotencyService;
 import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.services.LedgerService;
+import br.edu.ufop.web.investments.services.MarketValuationService;
+import br.edu.ufop.web.investments.services.PortfolioAnalyticsService;
+import br.edu.ufop.web.investments.services.PortfolioRiskService;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService;
+import br.edu.ufop.web.investments.services.PortfolioStreamService;
+import br.edu.ufop.web.investments.services.PositionRollupService;
+import br.edu.ufop.web.investments.services.imports.ImportRowReader;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import reactor.core.publisher.Flux;
 
 @RestController
 @RequestMapping("/investments")
 public class InvestmentController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Autowired
     private InvestmentService investmentService;
 
+    @Autowired
+    private InvestmentBatchService investmentBatchService;
+
+    @Autowired
+    private InvestmentImportService investmentImportService;
+
+    @Autowired
+    private InvestmentExportService investmentExportService;
+
+    @Autowired
+    private PortfolioSnapshotService portfolioSnapshotService;
+
+    @Autowired
+    private MarketValuationService marketValuationService;
+
+    @Autowired
+    private PortfolioStreamService portfolioStreamService;
+
+    @Autowired
+    private PortfolioAnalyticsService portfolioAnalyticsService;
+
+    @Autowired
+    private PortfolioRiskService portfolioRiskService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private PositionRollupService positionRollupService;
+
+    @Autowired
+    private StreamingLimiter streamingLimiter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Com Idempotency-Key, repetir a requisição devolve o investimento já criado em vez de criar outro
     @PostMapping
-    public ResponseEntity<InvestmentResponseDTO> createInvestment(@Valid @RequestBody InvestmentRequestDTO requestDto) {
-        InvestmentResponseDTO responseDto = investmentService.createInvestment(requestDto);
+    public ResponseEntity<InvestmentResponseDTO> createInvestment(@Valid @RequestBody InvestmentRequestDTO requestDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        InvestmentResponseDTO responseDto = idempotencyKey == null
+                ? investmentService.createInvestment(requestDto)
+                : idempotencyService.execute(idempotencyKey, "POST /investments", requestDto, InvestmentResponseDTO.class,
+                        () -> investmentService.createInvestment(requestDto));
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
                 .buildAndExpand(responseDto.id())
                 .toUri();
-        return ResponseEntity.created(location).body(responseDto);
+        return ResponseEntity.created(location).eTag(eTag(responseDto.version())).body(responseDto);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createInvestments(@RequestBody List<InvestmentRequestDTO> requestDtos,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        BatchResultDTO result = idempotencyKey == null
+                ? investmentBatchService.createInvestments(requestDtos)
+                : idempotencyService.execute(idempotencyKey, "POST /investments/batch", requestDtos, BatchResultDTO.class,
+                        () -> investmentBatchService.createInvestments(requestDtos));
+        return ResponseEntity.ok(result);
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateInvestments(@RequestBody List<InvestmentBatchUpdateItemDTO> items) {
+        BatchResultDTO result = investmentBatchService.updateInvestments(items);
+        return ResponseEntity.ok(result);
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteInvestments(@RequestBody List<UUID> ids) {
+        BatchResultDTO result = investmentBatchService.deleteInvestments(ids);
+        return ResponseEntity.ok(result);
+    }
+
+    // Corpo bruto em text/csv ou application/x-ndjson; a resposta é um relatório NDJSON com as linhas
+    // rejeitadas, terminado por uma linha com os totais
+    @PostMapping(value = "/import", consumes = { CSV, NDJSON })
+    public ResponseEntity<StreamingResponseBody> importInvestments(HttpServletRequest request) throws IOException {
+        ImportFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        ImportRowReader rows = investmentImportService.open(request.getInputStream(), format);
+        StreamingResponseBody body = outputStream -> investmentImportService.importInvestments(rows, outputStream);
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(body);
+    }
+
+    // Filtros opcionais e combináveis: type, symbol (prefixo), from/to (data de compra), minValue/maxValue (valor do lote)
     @GetMapping
-    public ResponseEntity<List<InvestmentResponseDTO>> getAllInvestments(
-            @RequestParam(value = "type", required = false) String type) {
-        List<InvestmentResponseDTO> investments = investmentService.getAllInvestments(type);
+    public ResponseEntity<List<InvestmentResponseDTO>> getAllInvestments(InvestmentFilterDTO filter) {
+        List<InvestmentResponseDTO> investments = investmentService.getAllInvestments(filter);
         return ResponseEntity.ok(investments);
     }
 
+    @GetMapping(params = "limit")
+    public ResponseEntity<InvestmentPageDTO> getInvestmentsPage(
+            InvestmentFilterDTO filter,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit") int limit) {
+        InvestmentPageDTO page = investmentService.getInvestmentsPage(filter, after, limit);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamInvestments(InvestmentFilterDTO filter, HttpServletRequest request) {
+        ObjectWriter writer = objectMapper.writerFor(InvestmentResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null); // o separador entre linhas é o '\n' abaixo
+                investmentService.streamInvestments(filter, investment -> {
+                    try {
+                        writer.writeValue(generator, investment);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType(NDJSON)).body(streamingLimiter.limit(request, body));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportInvestments(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+        ExportFormat exportFormat = investmentExportService.parseFormat(format);
+        AssetType assetType = investmentExportService.parseType(type);
+        String fileName = "investments." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody body = outputStream ->
+                investmentExportService.exportInvestments(assetType, exportFormat, gzip, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(streamingLimiter.limit(request, body));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamPortfolio() {
+        return portfolioStreamService.subscribe();
+    }
+
+    // O ETag é a versão do investimento: com If-None-Match igual, o Spring responde 304 sem serializar o corpo
+    // (e, com o investimento no cache, sem ir ao banco)
     @GetMapping("/{id}")
     public ResponseEntity<InvestmentResponseDTO> getInvestmentById(@PathVariable UUID id) {
         InvestmentResponseDTO investment = investmentService.getInvestmentById(id);
-        return ResponseEntity.ok(investment);
+        return ResponseEntity.ok().eTag(eTag(investment.version())).body(investment);
     }
 
+    // Com If-Match (o ETag do GET), a atualização só é aplicada se ninguém alterou o investimento desde então (412)
     @PutMapping("/{id}")
-    public ResponseEntity<InvestmentResponseDTO> updateInvestment(@PathVariable UUID id, @Valid @RequestBody InvestmentRequestDTO requestDto) {
-        InvestmentResponseDTO updatedInvestment = investmentService.updateInvestment(id, requestDto);
-        return ResponseEntity.ok(updatedInvestment);
+    public ResponseEntity<InvestmentResponseDTO> updateInvestment(@PathVariable UUID id, @Valid @RequestBody InvestmentRequestDTO requestDto,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        InvestmentResponseDTO updatedInvestment = investmentService.updateInvestment(id, requestDto, expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(eTag(updatedInvestment.version())).body(updatedInvestment);
     }
 
     @DeleteMapping("/{id}")
@@ -69,9 +252,116 @@ public class InvestmentController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/evolution")
+    public ResponseEntity<List<EvolutionDataDTO>> getEvolution(
+            @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(value = "granularity", required = false) String granularity) {
+        List<EvolutionDataDTO> evolution = portfolioSnapshotService.getEvolution(from, to, granularity);
+        return ResponseEntity.ok(evolution);
+    }
+
+    @GetMapping("/prices")
+    public ResponseEntity<List<QuoteDTO>> getQuotes() {
+        List<QuoteDTO> quotes = marketValuationService.getQuotes();
+        return ResponseEntity.ok(quotes);
+    }
+
+    @GetMapping("/valuation")
+    public ResponseEntity<ValuationDTO> getValuation() {
+        ValuationDTO valuation = marketValuationService.getValuation();
+        return ResponseEntity.ok(valuation);
+    }
+
+    @GetMapping("/analytics")
+    public ResponseEntity<AnalyticsDTO> getAnalytics(
+            @RequestParam(value = "topN", required = false) Integer topN) {
+        AnalyticsDTO analytics = portfolioAnalyticsService.getAnalytics(topN);
+        return ResponseEntity.ok(analytics);
+    }
+
+    @GetMapping("/risk")
+    public ResponseEntity<RiskDTO> getRisk(
+            @RequestParam(value = "scenarios", required = false) Integer scenarios,
+            @RequestParam(value = "seed", required = false) Long seed) {
+        RiskDTO risk = portfolioRiskService.getRisk(scenarios, seed);
+        return ResponseEntity.ok(risk);
+    }
+
+    @GetMapping("/transactions")
+    public ResponseEntity<List<TransactionResponseDTO>> getTransactions(@RequestParam("symbol") String symbol) {
+        List<TransactionResponseDTO> transactions = ledgerService.getTransactions(symbol);
+        return ResponseEntity.ok(transactions);
+    }
+
+    // Só vendas: as compras entram no livro pelos lotes de investimento
+    @PostMapping("/transactions")
+    public ResponseEntity<TransactionResponseDTO> createTransaction(@Valid @RequestBody TransactionRequestDTO requestDto,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        TransactionResponseDTO responseDto = idempotencyKey == null
+                ? ledgerService.createTransaction(requestDto)
+                : idempotencyService.execute(idempotencyKey, "POST /investments/transactions", requestDto, TransactionResponseDTO.class,
+                        () -> ledgerService.createTransaction(requestDto));
+        URI location = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(responseDto.id())
+                .toUri();
+        return ResponseEntity.created(location).body(responseDto);
+    }
+
+    @PutMapping("/transactions/{id}")
+    public ResponseEntity<TransactionResponseDTO> updateTransaction(@PathVariable UUID id, @Valid @RequestBody TransactionRequestDTO requestDto) {
+        TransactionResponseDTO updatedTransaction = ledgerService.updateTransaction(id, requestDto);
+        return ResponseEntity.ok(updatedTransaction);
+    }
+
+    @DeleteMapping("/transactions/{id}")
+    public ResponseEntity<Map<String, String>> deleteTransaction(@PathVariable UUID id) {
+        ledgerService.deleteTransaction(id);
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Transação deletada com sucesso.");
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/ledger")
+    public ResponseEntity<LedgerDTO> getLedger(@RequestParam(value = "method", required = false) String method) {
+        LedgerDTO ledger = ledgerService.getLedger(method);
+        return ResponseEntity.ok(ledger);
+    }
+
+    // Lotes somados por símbolo/tipo (quantidade, custo, preço médio, datas), uma linha por posição
+    @GetMapping("/positions")
+    public ResponseEntity<List<PositionDTO>> getPositions(@RequestParam(value = "type", required = false) String type) {
+        List<PositionDTO> positions = positionRollupService.getPositions(type);
+        return ResponseEntity.ok(positions);
+    }
+
     @GetMapping("/summary")
     public ResponseEntity<SummaryDTO> getSummary() {
         SummaryDTO summary = investmentService.getSummary();
         return ResponseEntity.ok(summary);
     }
+
+    private static String eTag(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // If-Match: "*" aceita qualquer versão; senão, um único ETag forte deste serviço
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null) {
+            return null;
+        }
+        List<ETag> eTags = ETag.parse(ifMatch);
+        if (eTags.size() == 1 && eTags.get(0).isWildcard()) {
+            return null;
+        }
+        if (eTags.size() != 1 || eTags.get(0).weak()) {
+            throw new IllegalArgumentException("If-Match deve trazer um único ETag, como devolvido por GET /investments/{id}.");
+        }
+        try {
+            return Long.valueOf(eTags.get(0).tag());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ETag inválido em If-Match: " + ifMatch);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,55 @@
+package br.edu.ufop.web.investments.controllers;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.edu.ufop.web.investments.exceptions.StreamCapacityExceededException;
+import jakarta.servlet.http.HttpServletRequest;
+
+// Limita as respostas em streaming (NDJSON e exportação) em andamento ao mesmo tempo. Cada uma segura uma
+// conexão do pool durante toda a transferência e roda fora da thread da requisição, então nem o pool do
+// Tomcat nem o ConcurrencyLimitFilter as contam. A vaga é reservada antes de a resposta começar (sem vaga,
+// 503) e devolvida quando o corpo termina ou, se ele nem chegar a rodar, quando a requisição assíncrona acaba.
+@Component
+public class StreamingLimiter {
+
+    private final Semaphore permits;
+
+    public StreamingLimiter(@Value("${investments.streaming.max-concurrent:4}") int maxConcurrentStreams) {
+        this.permits = new Semaphore(maxConcurrentStreams);
+    }
+
+    public StreamingResponseBody limit(HttpServletRequest request, StreamingResponseBody body) {
+        if (!permits.tryAcquire()) {
+            throw new StreamCapacityExceededException("Há respostas em streaming demais em andamento; tente novamente em instantes.");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        Runnable release = () -> {
+            if (released.compareAndSet(false, true)) {
+                permits.release();
+            }
+        };
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(StreamingLimiter.class,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        release.run();
+                    }
+                });
+        return outputStream -> {
+            try {
+                body.writeTo(outputStream);
+            } finally {
+                release.run();
+            }
+        };
+    }
+}
@@ -56,7 +56,8 @@ public class InvestmentConverter {
             model.getSymbol(),
             model.getQuantity(),
             model.getPurchasePrice(),
-            model.getPurchaseDate()
+            model.getPurchaseDate(),
+            model.getVersion()
         );
     }
     
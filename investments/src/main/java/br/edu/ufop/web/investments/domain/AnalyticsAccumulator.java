@@ -0,0 +1,93 @@
+package br.edu.ufop.web.investments.domain;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.edu.ufop.web.investments.repositories.projections.InvestmentLot;
+
+// Resultado parcial das análises sobre um intervalo de símbolos.
+// Cada partição cobre símbolos distintos, então juntar duas é somar os totais por tipo,
+// concatenar as posições e combinar as estatísticas de tempo de carteira.
+public class AnalyticsAccumulator {
+
+    private final SummaryAccumulator costByType = new SummaryAccumulator();
+    private final List<SymbolPosition> positions = new ArrayList<>();
+
+    private long lots;
+    private long minHoldingDays = Long.MAX_VALUE;
+    private long maxHoldingDays = Long.MIN_VALUE;
+    private long holdingDaysSum;
+    private double costWeightedHoldingDaysSum;
+    private double costSum;
+
+    // Consolida os lotes [from, to) de um mesmo símbolo
+    public void addSymbol(List<InvestmentLot> symbolLots, int from, int to, long todayEpochDay) {
+        InvestmentLot first = symbolLots.get(from);
+        SummaryAccumulator symbolCost = new SummaryAccumulator();
+        long quantity = 0;
+
+        for (int i = from; i < to; i++) {
+            InvestmentLot lot = symbolLots.get(i);
+            int lotQuantity = lot.quantity();
+            symbolCost.add(lot.type(), lot.purchasePrice(), lotQuantity);
+            costByType.add(lot.type(), lot.purchasePrice(), lotQuantity);
+            quantity += lotQuantity;
+
+            long holdingDays = todayEpochDay - lot.purchaseDate().toEpochDay();
+            double lotCost = lot.purchasePrice().doubleValue() * lotQuantity;
+            minHoldingDays = Math.min(minHoldingDays, holdingDays);
+            maxHoldingDays = Math.max(maxHoldingDays, holdingDays);
+            holdingDaysSum += holdingDays;
+            costWeightedHoldingDaysSum += lotCost * holdingDays;
+            costSum += lotCost;
+        }
+
+        lots += to - from;
+        positions.add(new SymbolPosition(first.symbol(), first.type(), to - from, quantity, symbolCost.total()));
+    }
+
+    public AnalyticsAccumulator merge(AnalyticsAccumulator other) {
+        costByType.merge(other.costByType);
+        positions.addAll(other.positions);
+        lots += other.lots;
+        minHoldingDays = Math.min(minHoldingDays, other.minHoldingDays);
+        maxHoldingDays = Math.max(maxHoldingDays, other.maxHoldingDays);
+        holdingDaysSum += other.holdingDaysSum;
+        costWeightedHoldingDaysSum += other.costWeightedHoldingDaysSum;
+        costSum += other.costSum;
+        return this;
+    }
+
+    public SummaryAccumulator costByType() {
+        return costByType;
+    }
+
+    public List<SymbolPosition> positions() {
+        return positions;
+    }
+
+    public long lots() {
+        return lots;
+    }
+
+    public long minHoldingDays() {
+        return lots == 0 ? 0 : minHoldingDays;
+    }
+
+    public long maxHoldingDays() {
+        return lots == 0 ? 0 : maxHoldingDays;
+    }
+
+    public double averageHoldingDays() {
+        return lots == 0 ? 0 : (double) holdingDaysSum / lots;
+    }
+
+    public double costWeightedAverageHoldingDays() {
+        return costSum == 0 ? 0 : costWeightedHoldingDaysSum / costSum;
+    }
+
+    public BigDecimal totalInvested() {
+        return costByType.total();
+    }
+}
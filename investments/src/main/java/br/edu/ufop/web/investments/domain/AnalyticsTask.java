@@ -0,0 +1,74 @@
+package br.edu.ufop.web.investments.domain;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import br.edu.ufop.web.investments.repositories.projections.InvestmentLot;
+
+// Divide a lista de lotes (ordenada por símbolo) ao meio, sempre numa fronteira entre símbolos,
+// até cada pedaço ter no máximo `threshold` lotes; os pedaços são calculados em paralelo e
+// os acumuladores parciais são juntados na volta, na mesma ordem da lista.
+public class AnalyticsTask extends RecursiveTask<AnalyticsAccumulator> {
+
+    private final List<InvestmentLot> lots;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final long todayEpochDay;
+
+    public AnalyticsTask(List<InvestmentLot> lots, int threshold, long todayEpochDay) {
+        this(lots, 0, lots.size(), Math.max(1, threshold), todayEpochDay);
+    }
+
+    private AnalyticsTask(List<InvestmentLot> lots, int from, int to, int threshold, long todayEpochDay) {
+        this.lots = lots;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.todayEpochDay = todayEpochDay;
+    }
+
+    @Override
+    protected AnalyticsAccumulator compute() {
+        int split = to - from > threshold ? symbolBoundaryNear((from + to) >>> 1) : -1;
+        if (split < 0) {
+            return computeSequentially();
+        }
+        AnalyticsTask left = new AnalyticsTask(lots, from, split, threshold, todayEpochDay);
+        AnalyticsTask right = new AnalyticsTask(lots, split, to, threshold, todayEpochDay);
+        left.fork();
+        AnalyticsAccumulator rightResult = right.compute();
+        return left.join().merge(rightResult);
+    }
+
+    private AnalyticsAccumulator computeSequentially() {
+        AnalyticsAccumulator accumulator = new AnalyticsAccumulator();
+        int start = from;
+        for (int i = from + 1; i <= to; i++) {
+            if (i == to || !lots.get(i).symbol().equals(lots.get(start).symbol())) {
+                accumulator.addSymbol(lots, start, i, todayEpochDay);
+                start = i;
+            }
+        }
+        return accumulator;
+    }
+
+    // Primeiro índice em (from, to) onde começa um símbolo novo, procurando a partir do meio; -1 se houver um só símbolo
+    private int symbolBoundaryNear(int middle) {
+        for (int i = middle; i < to; i++) {
+            if (isSymbolStart(i)) {
+                return i;
+            }
+        }
+        for (int i = middle - 1; i > from; i--) {
+            if (isSymbolStart(i)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private boolean isSymbolStart(int index) {
+        return !lots.get(index).symbol().equals(lots.get(index - 1).symbol());
+    }
+}
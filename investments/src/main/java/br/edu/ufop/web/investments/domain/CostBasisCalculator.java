@@ -0,0 +1,130 @@
+package br.edu.ufop.web.investments.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+
+import br.edu.ufop.web.investments.models.PositionState;
+
+// Aplica compras e vendas de um símbolo, em ordem, a partir de um estado já conhecido,
+// mantendo ao mesmo tempo o custo em FIFO e em custo médio e o lucro/prejuízo realizado em cada um.
+// Os lotes FIFO em aberto só são carregados na primeira venda: uma sequência só de compras
+// não precisa olhar o histórico.
+public class CostBasisCalculator {
+
+    private static final int MONEY_SCALE = 2;
+
+    private final Supplier<List<OpenLot>> openLotsLoader;
+    private final List<OpenLot> buysSinceStart = new ArrayList<>();
+    private Deque<OpenLot> openLots;
+
+    private long quantity;
+    private long cumulativeBought;
+    private long cumulativeSold;
+    private BigDecimal fifoCostBasis;
+    private BigDecimal averageCostBasis;
+    private BigDecimal totalRealizedFifo;
+    private BigDecimal totalRealizedAverage;
+    private BigDecimal lastRealizedFifo;
+    private BigDecimal lastRealizedAverage;
+
+    // openLotsLoader devolve, em ordem, as compras ainda abertas no estado inicial
+    public CostBasisCalculator(PositionState start, Supplier<List<OpenLot>> openLotsLoader) {
+        this.openLotsLoader = openLotsLoader;
+        this.quantity = start.getPositionQuantity();
+        this.cumulativeBought = start.getCumulativeBought();
+        this.cumulativeSold = start.getCumulativeSold();
+        this.fifoCostBasis = start.getFifoCostBasis();
+        this.averageCostBasis = start.getAverageCostBasis();
+        this.totalRealizedFifo = start.getTotalRealizedFifo();
+        this.totalRealizedAverage = start.getTotalRealizedAverage();
+    }
+
+    public void buy(int buyQuantity, BigDecimal price) {
+        BigDecimal cost = price.multiply(BigDecimal.valueOf(buyQuantity));
+        quantity += buyQuantity;
+        cumulativeBought += buyQuantity;
+        fifoCostBasis = fifoCostBasis.add(cost);
+        averageCostBasis = averageCostBasis.add(cost);
+        lastRealizedFifo = null;
+        lastRealizedAverage = null;
+
+        OpenLot lot = new OpenLot(buyQuantity, price);
+        if (openLots != null) {
+            openLots.addLast(lot);
+        } else {
+            buysSinceStart.add(lot);
+        }
+    }
+
+    public void sell(int sellQuantity, BigDecimal price) {
+        if (sellQuantity > quantity) {
+            throw new IllegalArgumentException(
+                    "Quantidade vendida (" + sellQuantity + ") maior que a posição disponível (" + quantity + ")");
+        }
+        if (openLots == null) {
+            openLots = new ArrayDeque<>(openLotsLoader.get());
+            openLots.addAll(buysSinceStart);
+            buysSinceStart.clear();
+        }
+
+        BigDecimal proceeds = price.multiply(BigDecimal.valueOf(sellQuantity));
+
+        BigDecimal fifoCost = BigDecimal.ZERO;
+        long remainingToSell = sellQuantity;
+        while (remainingToSell > 0) {
+            OpenLot lot = openLots.peekFirst();
+            long used = Math.min(lot.remaining, remainingToSell);
+            fifoCost = fifoCost.add(lot.price.multiply(BigDecimal.valueOf(used)));
+            lot.remaining -= used;
+            remainingToSell -= used;
+            if (lot.remaining == 0) {
+                openLots.pollFirst();
+            }
+        }
+
+        // Vendendo tudo, o custo médio sai inteiro (sem resíduo de arredondamento)
+        BigDecimal averageCost = sellQuantity == quantity
+                ? averageCostBasis
+                : averageCostBasis.multiply(BigDecimal.valueOf(sellQuantity))
+                        .divide(BigDecimal.valueOf(quantity), MONEY_SCALE, RoundingMode.HALF_EVEN);
+
+        quantity -= sellQuantity;
+        cumulativeSold += sellQuantity;
+        fifoCostBasis = fifoCostBasis.subtract(fifoCost);
+        averageCostBasis = averageCostBasis.subtract(averageCost);
+        lastRealizedFifo = proceeds.subtract(fifoCost);
+        lastRealizedAverage = proceeds.subtract(averageCost);
+        totalRealizedFifo = totalRealizedFifo.add(lastRealizedFifo);
+        totalRealizedAverage = totalRealizedAverage.add(lastRealizedAverage);
+    }
+
+    public PositionState state() {
+        return new PositionState(quantity, cumulativeBought, cumulativeSold,
+                fifoCostBasis, averageCostBasis, totalRealizedFifo, totalRealizedAverage);
+    }
+
+    // Realizado pela última operação; null se ela foi uma compra
+    public BigDecimal lastRealizedFifo() {
+        return lastRealizedFifo;
+    }
+
+    public BigDecimal lastRealizedAverage() {
+        return lastRealizedAverage;
+    }
+
+    public static class OpenLot {
+
+        private long remaining;
+        private final BigDecimal price;
+
+        public OpenLot(long remaining, BigDecimal price) {
+            this.remaining = remaining;
+            this.price = price;
+        }
+    }
+}
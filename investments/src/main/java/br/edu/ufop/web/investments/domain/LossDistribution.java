@@ -0,0 +1,47 @@
+package br.edu.ufop.web.investments.domain;
+
+// Medidas sobre as perdas simuladas já ordenadas de forma crescente (ganhos são perdas negativas)
+public final class LossDistribution {
+
+    private LossDistribution() {
+    }
+
+    // Índice do primeiro cenário da cauda de (1 - confiança) piores cenários
+    private static int tailStart(double[] sortedLosses, double confidence) {
+        return Math.min(sortedLosses.length - 1, (int) Math.floor(confidence * sortedLosses.length));
+    }
+
+    public static double valueAtRisk(double[] sortedLosses, double confidence) {
+        return sortedLosses[tailStart(sortedLosses, confidence)];
+    }
+
+    // Perda média nos cenários da cauda, a partir do VaR
+    public static double expectedShortfall(double[] sortedLosses, double confidence) {
+        int start = tailStart(sortedLosses, confidence);
+        double sum = 0;
+        for (int i = start; i < sortedLosses.length; i++) {
+            sum += sortedLosses[i];
+        }
+        return sum / (sortedLosses.length - start);
+    }
+
+    public static double mean(double[] losses) {
+        double sum = 0;
+        for (double loss : losses) {
+            sum += loss;
+        }
+        return sum / losses.length;
+    }
+
+    // Contagem de cenários em `buckets` faixas de mesma largura entre a menor e a maior perda
+    public static long[] histogram(double[] sortedLosses, int buckets) {
+        long[] counts = new long[buckets];
+        double min = sortedLosses[0];
+        double width = (sortedLosses[sortedLosses.length - 1] - min) / buckets;
+        for (double loss : sortedLosses) {
+            int bucket = width > 0 ? (int) ((loss - min) / width) : 0;
+            counts[Math.min(bucket, buckets - 1)]++;
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,23 @@
+package br.edu.ufop.web.investments.domain;
+
+// Posições da carteira em arrays paralelos, já com os coeficientes do horizonte simulado:
+// retorno logarítmico da posição i = drift[i] + typeLoading[i] * fatorDoTipo + ownLoading[i] * ruído,
+// com fatorDoTipo(t) = marketLoading[t] * fatorDeMercado + typeNoise[t] * ruídoDoTipo, todos normais padrão.
+public record RiskModel(
+    double[] values,
+    int[] typeIndex,
+    double[] drift,
+    double[] typeLoading,
+    double[] ownLoading,
+    double[] marketLoading,
+    double[] typeNoise
+) {
+
+    public int positions() {
+        return values.length;
+    }
+
+    public int types() {
+        return marketLoading.length;
+    }
+}
@@ -0,0 +1,82 @@
+package br.edu.ufop.web.investments.domain;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.RecursiveAction;
+
+// Simula os cenários [from, to) e grava a perda de cada um, total e por tipo, nos arrays de saída.
+// O intervalo é dividido ao meio, sempre em múltiplos de `chunkSize`, e a metade da esquerda recebe
+// um gerador separado (split) do gerador da direita. Como a árvore de divisões só depende do número
+// de cenários e do tamanho do pedaço, cada cenário usa sempre a mesma sequência de números para uma
+// semente, seja qual for o número de threads.
+public class RiskScenarioTask extends RecursiveAction {
+
+    private final RiskModel model;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+    private final SplittableRandom random;
+    private final double[] losses;
+    private final double[][] lossesByType;
+
+    public RiskScenarioTask(RiskModel model, int chunkSize, long seed, double[] losses, double[][] lossesByType) {
+        this(model, 0, losses.length, Math.max(1, chunkSize), new SplittableRandom(seed), losses, lossesByType);
+    }
+
+    private RiskScenarioTask(RiskModel model, int from, int to, int chunkSize, SplittableRandom random,
+            double[] losses, double[][] lossesByType) {
+        this.model = model;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+        this.random = random;
+        this.losses = losses;
+        this.lossesByType = lossesByType;
+    }
+
+    @Override
+    protected void compute() {
+        int chunks = (to - from + chunkSize - 1) / chunkSize;
+        if (chunks <= 1) {
+            simulate();
+            return;
+        }
+        int split = from + (chunks >>> 1) * chunkSize;
+        RiskScenarioTask left = new RiskScenarioTask(model, from, split, chunkSize, random.split(), losses, lossesByType);
+        RiskScenarioTask right = new RiskScenarioTask(model, split, to, chunkSize, random, losses, lossesByType);
+        left.fork();
+        right.compute();
+        left.join();
+    }
+
+    private void simulate() {
+        double[] values = model.values();
+        int[] typeIndex = model.typeIndex();
+        double[] drift = model.drift();
+        double[] typeLoading = model.typeLoading();
+        double[] ownLoading = model.ownLoading();
+        double[] marketLoading = model.marketLoading();
+        double[] typeNoise = model.typeNoise();
+        int types = model.types();
+        double[] typeFactors = new double[types];
+        double[] typeLosses = new double[types];
+
+        for (int scenario = from; scenario < to; scenario++) {
+            double market = random.nextGaussian();
+            for (int t = 0; t < types; t++) {
+                typeFactors[t] = marketLoading[t] * market + typeNoise[t] * random.nextGaussian();
+                typeLosses[t] = 0;
+            }
+            for (int i = 0; i < values.length; i++) {
+                int t = typeIndex[i];
+                double logReturn = drift[i] + typeLoading[i] * typeFactors[t] + ownLoading[i] * random.nextGaussian();
+                typeLosses[t] += values[i] * -Math.expm1(logReturn);
+            }
+            double total = 0;
+            for (int t = 0; t < types; t++) {
+                lossesByType[t][scenario] = typeLosses[t];
+                total += typeLosses[t];
+            }
+            losses[scenario] = total;
+        }
+    }
+}
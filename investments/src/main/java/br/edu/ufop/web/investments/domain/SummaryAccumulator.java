@@ -0,0 +1,143 @@
+package br.edu.ufop.web.investments.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+
+import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+
+// Soma valores monetários por tipo de ativo sem criar um BigDecimal por linha.
+// Cada tipo acumula em centavos (long, escala 2) numa posição do array indexada por ordinal();
+// preços com mais de 2 casas ou somas que estouram o long vão para um BigDecimal exato.
+// No fim, cada total volta para a escala que a soma com BigDecimal partindo de ZERO teria
+// (a maior entre 0 e as escalas somadas), então o resultado é idêntico ao de multiply/add.
+public class SummaryAccumulator {
+
+    private static final int SCALE = 2;
+    private static final int MAX_INTEGER_DIGITS = 16;
+    private static final AssetType[] TYPES = AssetType.values();
+
+    private final long[] unscaledByType = new long[TYPES.length];
+    private final BigDecimal[] overflowByType = new BigDecimal[TYPES.length];
+    private final int[] maxScaleByType = new int[TYPES.length];
+    private final long[] countByType = new long[TYPES.length];
+
+    // Soma price * quantity ao tipo
+    public void add(AssetType type, BigDecimal price, long quantity) {
+        int index = type.ordinal();
+        int scale = price.scale();
+        countByType[index]++;
+        if (scale > maxScaleByType[index]) {
+            maxScaleByType[index] = scale;
+        }
+
+        // Até 16 dígitos inteiros e 2 casas o preço cabe num long em centavos
+        if (scale >= 0 && scale <= SCALE && price.precision() - scale <= MAX_INTEGER_DIGITS) {
+            long cents = price.movePointRight(SCALE).longValueExact();
+            long high = Math.multiplyHigh(cents, quantity);
+            long product = cents * quantity;
+            if ((high == 0 && product >= 0) || (high == -1 && product < 0)) {
+                addUnscaled(index, product);
+                return;
+            }
+        }
+        addExact(index, price.multiply(BigDecimal.valueOf(quantity)));
+    }
+
+    // Soma um valor já calculado (quantidade 1)
+    public void add(AssetType type, BigDecimal amount) {
+        add(type, amount, 1);
+    }
+
+    // Soma um valor já calculado em centavos (escala 2)
+    public void addCents(AssetType type, long cents) {
+        int index = type.ordinal();
+        countByType[index]++;
+        if (SCALE > maxScaleByType[index]) {
+            maxScaleByType[index] = SCALE;
+        }
+        addUnscaled(index, cents);
+    }
+
+    public void merge(SummaryAccumulator other) {
+        for (int index = 0; index < TYPES.length; index++) {
+            if (other.countByType[index] == 0) {
+                continue;
+            }
+            maxScaleByType[index] = Math.max(maxScaleByType[index], other.maxScaleByType[index]);
+            countByType[index] += other.countByType[index];
+            addUnscaled(index, other.unscaledByType[index]);
+            if (other.overflowByType[index] != null) {
+                addExact(index, other.overflowByType[index]);
+            }
+        }
+    }
+
+    public long count(AssetType type) {
+        return countByType[type.ordinal()];
+    }
+
+    public long count() {
+        long count = 0;
+        for (long typeCount : countByType) {
+            count += typeCount;
+        }
+        return count;
+    }
+
+    // Total do tipo, ou null se nada foi somado a ele
+    public BigDecimal total(AssetType type) {
+        int index = type.ordinal();
+        if (countByType[index] == 0) {
+            return null;
+        }
+        BigDecimal total = BigDecimal.valueOf(unscaledByType[index], SCALE);
+        if (overflowByType[index] != null) {
+            total = total.add(overflowByType[index]);
+        }
+        return total.setScale(maxScaleByType[index], RoundingMode.UNNECESSARY);
+    }
+
+    public BigDecimal total() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (AssetType type : TYPES) {
+            BigDecimal typeTotal = total(type);
+            if (typeTotal != null) {
+                total = total.add(typeTotal);
+            }
+        }
+        return total;
+    }
+
+    public SummaryDTO toSummary() {
+        BigDecimal totalInvested = BigDecimal.ZERO;
+        Map<String, BigDecimal> totalByType = new HashMap<>();
+        for (AssetType type : TYPES) {
+            BigDecimal typeTotal = total(type);
+            if (typeTotal != null) {
+                totalInvested = totalInvested.add(typeTotal);
+                totalByType.put(type.name(), typeTotal);
+            }
+        }
+        return new SummaryDTO(totalInvested, totalByType, count());
+    }
+
+    private void addUnscaled(int index, long value) {
+        long current = unscaledByType[index];
+        long sum = current + value;
+        if (((current ^ sum) & (value ^ sum)) < 0) {
+            // Estouro: descarrega o parcial no BigDecimal e recomeça o long
+            addExact(index, BigDecimal.valueOf(current, SCALE));
+            unscaledByType[index] = value;
+        } else {
+            unscaledByType[index] = sum;
+        }
+    }
+
+    private void addExact(int index, BigDecimal value) {
+        BigDecimal overflow = overflowByType[index];
+        overflowByType[index] = overflow == null ? value : overflow.add(value);
+    }
+}
@@ -0,0 +1,14 @@
+package br.edu.ufop.web.investments.domain;
+
+import java.math.BigDecimal;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+// Posição consolidada de um símbolo: soma de todos os seus lotes
+public record SymbolPosition(
+    String symbol,
+    AssetType type,
+    long lots,
+    long quantity,
+    BigDecimal costBasis
+) {}
@@ -0,0 +1,8 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+public record AllocationDTO(
+    BigDecimal costBasis,
+    BigDecimal percentage
+) {}
@@ -0,0 +1,15 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record AnalyticsDTO(
+    BigDecimal totalInvested,
+    long positionCount,
+    long symbolCount,
+    Map<String, AllocationDTO> allocationByType,
+    List<SymbolAnalyticsDTO> symbols,
+    ConcentrationDTO concentration,
+    HoldingPeriodDTO holdingPeriod
+) {}
@@ -0,0 +1,12 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.util.UUID;
+
+import br.edu.ufop.web.investments.enums.BatchItemStatus;
+
+public record BatchItemResultDTO(
+    int index, // posição do item no array enviado
+    UUID id,
+    BatchItemStatus status,
+    String error
+) {}
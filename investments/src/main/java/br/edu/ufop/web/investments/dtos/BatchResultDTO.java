@@ -0,0 +1,18 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.util.List;
+
+public record BatchResultDTO(
+    int succeeded,
+    int failed,
+    List<BatchItemResultDTO> items
+) {
+
+    public BatchResultDTO(List<BatchItemResultDTO> items) {
+        this(
+            (int) items.stream().filter(item -> item.error() == null).count(),
+            (int) items.stream().filter(item -> item.error() != null).count(),
+            items
+        );
+    }
+}
@@ -0,0 +1,12 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public record ConcentrationDTO(
+    int topN,
+    List<String> topSymbols,
+    BigDecimal topPercentage,
+    BigDecimal hhi,               // Índice Herfindahl-Hirschman, de 0 a 10000
+    BigDecimal effectiveSymbols   // 10000 / HHI
+) {}
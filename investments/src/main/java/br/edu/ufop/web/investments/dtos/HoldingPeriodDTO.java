@@ -0,0 +1,10 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+public record HoldingPeriodDTO(
+    long minDays,
+    long maxDays,
+    BigDecimal averageDays,
+    BigDecimal costWeightedAverageDays
+) {}
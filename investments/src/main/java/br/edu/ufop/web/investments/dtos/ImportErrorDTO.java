@@ -0,0 +1,6 @@
+package br.edu.ufop.web.investments.dtos;
+
+public record ImportErrorDTO(
+    long line, // linha do arquivo enviado (1 = primeira linha)
+    String error
+) {}
@@ -0,0 +1,7 @@
+package br.edu.ufop.web.investments.dtos;
+
+public record ImportResultDTO(
+    long imported,
+    long rejected,
+    String error // preenchido se a importação foi interrompida
+) {}
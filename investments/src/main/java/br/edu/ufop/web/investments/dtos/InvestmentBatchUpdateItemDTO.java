@@ -0,0 +1,18 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.util.UUID;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+public record InvestmentBatchUpdateItemDTO(
+    @NotNull(message = "O ID do investimento não pode ser nulo")
+    UUID id,
+
+    @NotNull(message = "Os dados do investimento não podem ser nulos")
+    @Valid
+    InvestmentRequestDTO investment,
+
+    // Opcional: versão lida pelo cliente; se não for mais a atual, o item volta como CONFLICT
+    Long version
+) {}
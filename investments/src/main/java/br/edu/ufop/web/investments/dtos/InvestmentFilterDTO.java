@@ -0,0 +1,18 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+// Filtros combináveis de GET /investments (todos opcionais), ligados a partir dos parâmetros da URL
+public record InvestmentFilterDTO(
+    String type,
+    String symbol,     // prefixo do símbolo
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate from,    // data de compra inicial (inclusive)
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    LocalDate to,      // data de compra final (inclusive)
+    BigDecimal minValue, // valor do lote (preço × quantidade)
+    BigDecimal maxValue
+) {}
@@ -0,0 +1,8 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.util.List;
+
+public record InvestmentPageDTO(
+    List<InvestmentResponseDTO> items,
+    String nextCursor // null quando não há mais páginas
+) {}
@@ -13,7 +13,8 @@ public record InvestmentResponseDTO(
     String symbol,
     Integer quantity,
     BigDecimal purchasePrice,
-    LocalDate purchaseDate
+    LocalDate purchaseDate,
+    Long version
 ) {
     
     public InvestmentResponseDTO(Investment investment) {
@@ -23,7 +24,8 @@ public record InvestmentResponseDTO(
             investment.getSymbol(),
             investment.getQuantity(),
             investment.getPurchasePrice(),
-            investment.getPurchaseDate()
+            investment.getPurchaseDate(),
+            investment.getVersion()
         );
     }
 }
\ No newline at end of file
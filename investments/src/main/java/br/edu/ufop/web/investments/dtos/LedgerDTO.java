@@ -0,0 +1,15 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import br.edu.ufop.web.investments.enums.CostMethod;
+
+public record LedgerDTO(
+    CostMethod method,
+    BigDecimal costBasis,
+    BigDecimal marketValue,
+    BigDecimal unrealizedProfitLoss,
+    BigDecimal realizedProfitLoss,
+    List<LedgerPositionDTO> positions
+) {}
@@ -0,0 +1,17 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+public record LedgerPositionDTO(
+    String symbol,
+    AssetType type,
+    Long quantity,
+    BigDecimal costBasis,
+    BigDecimal averagePrice, // null quando a posição está zerada
+    BigDecimal currentPrice, // preço médio quando ainda não há cotação
+    BigDecimal marketValue,
+    BigDecimal unrealizedProfitLoss,
+    BigDecimal realizedProfitLoss
+) {}
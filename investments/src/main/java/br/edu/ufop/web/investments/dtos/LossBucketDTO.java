@@ -0,0 +1,10 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+// Faixa [from, to) da distribuição de perdas (valores negativos são ganhos)
+public record LossBucketDTO(
+    BigDecimal from,
+    BigDecimal to,
+    long scenarios
+) {}
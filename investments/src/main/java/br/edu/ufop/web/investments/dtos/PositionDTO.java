@@ -0,0 +1,18 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+// Soma dos lotes de um símbolo/tipo, a preço de compra
+public record PositionDTO(
+    String symbol,
+    AssetType type,
+    Long quantity,
+    BigDecimal totalCost,
+    BigDecimal averagePrice,
+    Long lotCount,
+    LocalDate firstPurchaseDate,
+    LocalDate lastPurchaseDate
+) {}
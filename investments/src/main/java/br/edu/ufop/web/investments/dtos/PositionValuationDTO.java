@@ -0,0 +1,20 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+public record PositionValuationDTO(
+    UUID id,
+    AssetType type,
+    String symbol,
+    Integer quantity,
+    BigDecimal purchasePrice,
+    LocalDate purchaseDate,
+    BigDecimal currentPrice, // preço de compra quando ainda não há cotação
+    BigDecimal costBasis,
+    BigDecimal marketValue,
+    BigDecimal profitLoss
+) {}
@@ -0,0 +1,12 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+public record PositionValueDTO(
+    String symbol,
+    BigDecimal price,
+    long quantity,
+    BigDecimal costBasis,
+    BigDecimal marketValue,
+    BigDecimal profitLoss
+) {}
@@ -0,0 +1,10 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record QuoteDTO(
+    String symbol,
+    BigDecimal price,
+    Instant updatedAt
+) {}
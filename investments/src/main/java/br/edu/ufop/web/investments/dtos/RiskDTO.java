@@ -0,0 +1,17 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record RiskDTO(
+    BigDecimal marketValue,
+    int scenarios,
+    long seed,
+    int horizonDays,
+    BigDecimal meanLoss,
+    BigDecimal worstLoss,
+    List<RiskMeasureDTO> measures,
+    Map<String, TypeRiskDTO> byType,
+    List<LossBucketDTO> distribution
+) {}
@@ -0,0 +1,9 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+public record RiskMeasureDTO(
+    double confidence,
+    BigDecimal valueAtRisk,
+    BigDecimal expectedShortfall
+) {}
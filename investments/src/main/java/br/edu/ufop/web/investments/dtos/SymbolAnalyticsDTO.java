@@ -0,0 +1,15 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+public record SymbolAnalyticsDTO(
+    String symbol,
+    AssetType type,
+    long lots,
+    long quantity,
+    BigDecimal costBasis,
+    BigDecimal averageCost,
+    BigDecimal percentage
+) {}
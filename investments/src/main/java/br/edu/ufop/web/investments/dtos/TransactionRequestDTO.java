@@ -0,0 +1,30 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import br.edu.ufop.web.investments.enums.TransactionSide;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Positive;
+
+public record TransactionRequestDTO(
+    @NotNull(message = "O lado da transação não pode ser nulo")
+    TransactionSide side,
+
+    @NotBlank(message = "O símbolo do ativo não pode ser vazio")
+    String symbol,
+
+    @NotNull(message = "A quantidade não pode ser nula")
+    @Positive(message = "A quantidade deve ser um número positivo")
+    Integer quantity,
+
+    @NotNull(message = "O preço não pode ser nulo")
+    @Positive(message = "O preço deve ser positivo")
+    BigDecimal price,
+
+    @NotNull(message = "A data da transação não pode ser nula")
+    @PastOrPresent(message = "A data da transação não pode ser no futuro")
+    LocalDate tradeDate
+) {}
@@ -0,0 +1,22 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.TransactionSide;
+
+public record TransactionResponseDTO(
+    UUID id,
+    TransactionSide side,
+    AssetType type,
+    String symbol,
+    Integer quantity,
+    BigDecimal price,
+    LocalDate tradeDate,
+    UUID investmentId,       // lote de origem, nas compras
+    BigDecimal realizedFifo,    // só nas vendas
+    BigDecimal realizedAverage, // só nas vendas
+    Long positionQuantity    // posição depois da transação
+) {}
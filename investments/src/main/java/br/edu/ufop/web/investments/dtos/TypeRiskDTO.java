@@ -0,0 +1,11 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+// Risco isolado das posições de um tipo, nos mesmos cenários da carteira
+public record TypeRiskDTO(
+    BigDecimal marketValue,
+    BigDecimal meanLoss,
+    List<RiskMeasureDTO> measures
+) {}
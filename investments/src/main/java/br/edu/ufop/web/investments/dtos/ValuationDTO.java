@@ -0,0 +1,13 @@
+package br.edu.ufop.web.investments.dtos;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+public record ValuationDTO(
+    BigDecimal costBasis,
+    BigDecimal marketValue,
+    BigDecimal profitLoss,
+    Map<String, TypeValuationDTO> byType,
+    List<PositionValuationDTO> positions
+) {}
@@ -0,0 +1,10 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum BatchItemStatus {
+    CREATED,   // Criado
+    UPDATED,   // Atualizado
+    DELETED,   // Removido
+    NOT_FOUND, // ID inexistente
+    CONFLICT,  // Versão informada desatualizada
+    REJECTED   // Falhou na validação
+}
@@ -0,0 +1,6 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum CostMethod {
+    FIFO,   // Primeiro a entrar, primeiro a sair: a venda baixa os lotes mais antigos
+    AVERAGE // Custo médio ponderado
+}
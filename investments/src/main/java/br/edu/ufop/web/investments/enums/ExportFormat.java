@@ -0,0 +1,23 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum ExportFormat {
+    CSV("text/csv", "csv"),                                   // Planilhas
+    NDJSON("application/x-ndjson", "ndjson"),                 // Um objeto JSON por linha
+    COLUMNAR("application/vnd.investments.columnar", "invc"); // Colunar binário em grupos de linhas
+
+    private final String mediaType;
+    private final String extension;
+
+    ExportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
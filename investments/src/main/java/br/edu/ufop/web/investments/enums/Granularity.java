@@ -0,0 +1,7 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum Granularity {
+    DAY,   // Diária
+    WEEK,  // Semanal (a partir de segunda-feira)
+    MONTH  // Mensal
+}
@@ -0,0 +1,6 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum ImportFormat {
+    CSV,    // text/csv, com linha de cabeçalho
+    NDJSON  // application/x-ndjson, um objeto JSON por linha
+}
@@ -0,0 +1,7 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum InvestmentChangeType {
+    CREATED, // Lotes criados (unitário, lote ou importação)
+    UPDATED, // Lotes alterados
+    DELETED  // Lotes removidos
+}
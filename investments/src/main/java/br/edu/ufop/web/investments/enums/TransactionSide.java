@@ -0,0 +1,6 @@
+package br.edu.ufop.web.investments.enums;
+
+public enum TransactionSide {
+    BUY, // Compra (espelha um lote de Investment)
+    SELL // Venda
+}
@@ -0,0 +1,20 @@
+package br.edu.ufop.web.investments.events;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import br.edu.ufop.web.investments.enums.InvestmentChangeType;
+
+// Uma escrita de investimentos de uma carteira, lida do outbox e entregue aos OutboxSink pelo OutboxDispatcher
+// (de uma instância) e aos ouvintes da aplicação pelo OutboxFanOut (de cada instância). A entrega é "ao menos
+// uma vez": eventId (único por banco) permite descartar repetições pelo conjunto de IDs já vistos, não por uma
+// marca d'água, pois um evento de ID menor pode chegar depois (IDs seguem a ordem de inserção, não de commit).
+// Os ouvintes recarregam o estado atual pelos IDs.
+public record InvestmentsChangedEvent(
+    long eventId,
+    String portfolio,
+    InvestmentChangeType change,
+    List<UUID> investmentIds,
+    Instant occurredAt
+) {}
@@ -3,8 +3,11 @@ package br.edu.ufop.web.investments.exceptions;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -27,6 +30,34 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    // If-Match com uma versão que não é mais a atual
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<Map<String, String>> handlePreconditionFailed(PreconditionFailedException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        return new ResponseEntity<>(response, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // Importações ou respostas em streaming simultâneas acima do limite: o cliente tenta de novo em instantes.
+    // O corpo vai em JSON mesmo para quem pediu NDJSON ou CSV
+    @ExceptionHandler({ ImportCapacityExceededException.class, StreamCapacityExceededException.class })
+    public ResponseEntity<Map<String, String>> handleCapacityExceeded(RuntimeException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response);
+    }
+
+    // Outra requisição gravou o mesmo investimento entre a leitura e o UPDATE desta
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, String>> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex) {
+        Map<String, String> response = new HashMap<>();
+        response.put("error", "O investimento foi alterado por outra requisição; recarregue-o e tente novamente.");
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
     // Handler genérico para outras exceções não previstas
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
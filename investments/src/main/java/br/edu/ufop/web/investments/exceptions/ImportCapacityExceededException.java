@@ -0,0 +1,9 @@
+package br.edu.ufop.web.investments.exceptions;
+
+// Já há investments.import.max-concurrent importações em andamento
+public class ImportCapacityExceededException extends RuntimeException {
+
+    public ImportCapacityExceededException(String message) {
+        super(message);
+    }
+}
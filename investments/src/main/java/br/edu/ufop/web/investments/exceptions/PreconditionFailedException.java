@@ -0,0 +1,9 @@
+package br.edu.ufop.web.investments.exceptions;
+
+// A versão informada pelo cliente (If-Match) não é mais a versão atual do recurso
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package br.edu.ufop.web.investments.exceptions;
+
+// Já há investments.streaming.max-concurrent respostas em streaming (NDJSON, exportação) em andamento
+public class StreamCapacityExceededException extends RuntimeException {
+
+    public StreamCapacityExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,63 @@
+package br.edu.ufop.web.investments.filters;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Limita as requisições em processamento ao mesmo tempo. Com threads virtuais não há mais o teto
+// do pool do Tomcat: milhares de requisições chegariam juntas ao pool de conexões e esperariam
+// por uma conexão até estourar o connection-timeout do Hikari (erro 500). Aqui elas esperam,
+// em ordem de chegada, por uma vaga; sem vaga dentro do prazo, a resposta é 503.
+// A vaga é devolvida quando o controller retorna: respostas em streaming seguem fora deste limite, mas
+// seguram a vaga delas no StreamingLimiter até a transferência terminar.
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private static final String BUSY_BODY = "{\"error\":\"Servidor ocupado; tente novamente em instantes.\"}";
+
+    private final Semaphore permits;
+    private final long queueTimeoutMs;
+
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, long queueTimeoutMs) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.queueTimeoutMs = queueTimeoutMs;
+    }
+
+    // Requisições esperando vaga
+    public int queued() {
+        return permits.getQueueLength();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(queueTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("Requisição interrompida aguardando vaga.", e);
+        }
+        if (!acquired) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            response.getWriter().write(BUSY_BODY);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
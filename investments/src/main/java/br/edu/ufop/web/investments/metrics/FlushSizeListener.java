@@ -0,0 +1,32 @@
+package br.edu.ufop.web.investments.metrics;
+
+import org.hibernate.BaseSessionEventListener;
+
+import io.micrometer.core.instrument.Metrics;
+
+// Tamanho de cada flush do Hibernate: entidades gravadas (investments.flush.entities) e lotes JDBC
+// executados (investments.flush.jdbc.batches); a razão entre os dois é o tamanho médio dos lotes.
+// O Hibernate cria uma instância por sessão (hibernate.session.events.auto), por isso o registro global.
+public class FlushSizeListener extends BaseSessionEventListener {
+
+    private int batches;
+
+    @Override
+    public void flushStart() {
+        batches = 0;
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batches++;
+    }
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        if (batches == 0) {
+            return; // flush sem escrita (ex.: leitura antes de uma consulta)
+        }
+        Metrics.summary("investments.flush.entities").record(numberOfEntities);
+        Metrics.summary("investments.flush.jdbc.batches").record(batches);
+    }
+}
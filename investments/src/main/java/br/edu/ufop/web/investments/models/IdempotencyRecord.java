@@ -0,0 +1,54 @@
+package br.edu.ufop.web.investments.models;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import org.hibernate.annotations.TenantId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Resposta de uma criação feita com Idempotency-Key: uma nova tentativa com a mesma chave recebe
+// esta resposta em vez de criar de novo. A linha é gravada na mesma transação da criação.
+@Entity
+@Table(name = "idempotency_keys",
+    uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_keys_portfolio_key", columnNames = { "portfolio", "idempotencyKey" }),
+    indexes = @Index(name = "idx_idempotency_keys_created_at", columnList = "createdAt")) // remoção das expiradas
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
+    @Column(nullable = false)
+    private String idempotencyKey;
+
+    // SHA-256 da operação e do corpo: a mesma chave com outra requisição é rejeitada
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // JSON da resposta; nulo só enquanto a criação que reservou a chave não termina
+    @Column(columnDefinition = "text")
+    private String responseBody;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -4,6 +4,8 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.UUID; // Import UUID
 
+import org.hibernate.annotations.TenantId;
+
 import br.edu.ufop.web.investments.enums.AssetType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -12,14 +14,21 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "investments")
+@Table(name = "investments", indexes = {
+    // Toda consulta é filtrada pela carteira, que abre cada índice
+    @Index(name = "idx_investments_purchase_date_id", columnList = "portfolio, purchaseDate, id"), // paginação por chave e período
+    @Index(name = "idx_investments_type_purchase_date_id", columnList = "portfolio, type, purchaseDate, id") // filtro por tipo, na ordem das páginas
+    // Prefixo de símbolo: idx_investments_symbol_pattern, em resources/db/indexes.sql
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -30,6 +39,11 @@ public class Investment {
     @GeneratedValue(strategy = GenerationType.UUID) // Define UUID generation strategy
     private UUID id; // Change type to UUID
 
+    // Carteira dona do lote, preenchida e filtrada pelo Hibernate (PortfolioTenantResolver)
+    @TenantId
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AssetType type;
@@ -45,4 +59,9 @@ public class Investment {
 
     @Column(nullable = false)
     private LocalDate purchaseDate;
+
+    // Controle de concorrência otimista: cada UPDATE confere e incrementa a versão lida; é também o ETag do lote
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package br.edu.ufop.web.investments.models;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.TenantId;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Posição corrente de um símbolo no livro de uma carteira: o estado depois da última transação.
+// A linha também serializa as escritas do símbolo (é travada antes de qualquer alteração).
+@Entity
+@Table(name = "ledger_positions", uniqueConstraints =
+    @UniqueConstraint(name = "uk_ledger_positions_portfolio_symbol", columnNames = { "portfolio", "symbol" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerPosition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    private AssetType type;
+
+    @Column(nullable = false)
+    private Long nextSequence;
+
+    private LocalDate lastTradeDate;
+
+    @Embedded
+    private PositionState state;
+}
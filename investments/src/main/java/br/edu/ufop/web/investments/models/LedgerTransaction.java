@@ -0,0 +1,78 @@
+package br.edu.ufop.web.investments.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.TenantId;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.TransactionSide;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Livro de transações: compras (espelhando os lotes de Investment) e vendas, em ordem (tradeDate, sequence)
+// por símbolo de cada carteira. Cada linha guarda o estado da posição logo depois dela, então recalcular a partir de
+// uma data só precisa da linha anterior a ela.
+@Entity
+@Table(name = "ledger_transactions", indexes = {
+    @Index(name = "idx_ledger_transactions_symbol_order", columnList = "portfolio, symbol, tradeDate, sequence"),
+    @Index(name = "idx_ledger_transactions_investment", columnList = "investmentId", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LedgerTransaction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AssetType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionSide side;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(nullable = false)
+    private BigDecimal price;
+
+    @Column(nullable = false)
+    private LocalDate tradeDate;
+
+    @Column(nullable = false)
+    private Long sequence; // desempate entre transações do mesmo símbolo na mesma data
+
+    private UUID investmentId; // lote de origem das compras
+
+    private BigDecimal realizedFifo;    // lucro/prejuízo realizado pela venda (FIFO)
+    private BigDecimal realizedAverage; // lucro/prejuízo realizado pela venda (custo médio)
+
+    @Embedded
+    private PositionState stateAfter;
+}
@@ -0,0 +1,67 @@
+package br.edu.ufop.web.investments.models;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import br.edu.ufop.web.investments.enums.InvestmentChangeType;
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outbox transacional: uma linha por escrita de investimentos, gravada na mesma transação da escrita.
+// O OutboxDispatcher lê as pendentes (published_at nulo) e as publica; as publicadas ficam até a retenção
+// para poderem ser reenviadas. Sem @TenantId: o despachante lê as linhas de todas as carteiras.
+@Entity
+@Table(name = "investment_outbox", indexes = {
+    @Index(name = "idx_investment_outbox_published_at", columnList = "publishedAt") // remoção das antigas
+    // Pendentes: idx_investment_outbox_pending, parcial, em resources/db/indexes.sql
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    // Identidade: o ID é tomado no INSERT, não no commit. Uma transação que recebeu o ID 10 pode confirmar
+    // depois da que recebeu o 11, então os IDs não seguem a ordem de commit nem de despacho.
+    // Quem deduplica guarda os IDs vistos (não só o maior), e o replay parte de um ID com folga para trás.
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", nullable = false, updatable = false)
+    private InvestmentChangeType change;
+
+    // Todos os lotes da escrita em uma linha (uuid[]): um lote de 10 mil itens ainda é um único INSERT
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(nullable = false, updatable = false)
+    private List<UUID> investmentIds;
+
+    @Column(nullable = false, updatable = false)
+    private Instant createdAt;
+
+    private Instant publishedAt;
+
+    public InvestmentsChangedEvent toEvent() {
+        return new InvestmentsChangedEvent(id, portfolio, change, investmentIds, createdAt);
+    }
+}
@@ -0,0 +1,49 @@
+package br.edu.ufop.web.investments.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.TenantId;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Variação diária da carteira: quanto foi investido (líquido) e quantos ativos entraram em cada data.
+// O valor acumulado até uma data é a soma das variações anteriores, então alterar um ativo
+// só mexe nas linhas das datas envolvidas.
+@Entity
+@Table(name = "portfolio_daily_snapshots", uniqueConstraints =
+    @UniqueConstraint(name = "uk_portfolio_daily_snapshots_portfolio_date", columnNames = { "portfolio", "snapshotDate" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PortfolioDailySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
+    @Column(nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private BigDecimal investedAmount;
+
+    @Column(nullable = false)
+    private Long assetCount;
+}
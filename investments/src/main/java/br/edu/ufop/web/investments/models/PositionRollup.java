@@ -0,0 +1,69 @@
+package br.edu.ufop.web.investments.models;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.hibernate.annotations.TenantId;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Lotes de um símbolo/tipo já somados: mantida na mesma transação de cada escrita de investimentos
+// (PositionRollupService), para a visão por posição ler uma linha por símbolo em vez de todos os lotes.
+// A linha some quando o último lote do símbolo sai.
+@Entity
+@Table(name = "position_rollups", uniqueConstraints =
+    @UniqueConstraint(name = "uk_position_rollups_portfolio_symbol_type", columnNames = { "portfolio", "symbol", "type" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @TenantId
+    @Column(nullable = false, updatable = false)
+    private String portfolio;
+
+    @Column(nullable = false)
+    private String symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AssetType type;
+
+    @Column(nullable = false)
+    private Long totalQuantity;
+
+    @Column(nullable = false)
+    private BigDecimal totalCost;
+
+    // totalCost / totalQuantity, com 2 casas
+    @Column(nullable = false)
+    private BigDecimal averagePrice;
+
+    @Column(nullable = false)
+    private Long lotCount;
+
+    @Column(nullable = false)
+    private LocalDate firstPurchaseDate;
+
+    @Column(nullable = false)
+    private LocalDate lastPurchaseDate;
+}
@@ -0,0 +1,32 @@
+package br.edu.ufop.web.investments.models;
+
+import java.math.BigDecimal;
+
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Estado acumulado da posição de um símbolo depois de uma transação.
+// cumulativeBought/cumulativeSold bastam para saber quais compras ainda estão abertas em FIFO:
+// uma compra está aberta enquanto o total comprado até ela for maior que o total vendido.
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PositionState {
+
+    private Long positionQuantity;
+    private Long cumulativeBought;
+    private Long cumulativeSold;
+    private BigDecimal fifoCostBasis;
+    private BigDecimal averageCostBasis;
+    private BigDecimal totalRealizedFifo;
+    private BigDecimal totalRealizedAverage;
+
+    public static PositionState empty() {
+        return new PositionState(0L, 0L, 0L, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,33 @@
+package br.edu.ufop.web.investments.replication;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Carteiras que tiveram escrita confirmada há menos de `window`: suas leituras vão ao primário,
+// para o cliente ver o que acabou de gravar mesmo com a réplica atrasada. Janela zero desliga.
+public class ReadYourWrites {
+
+    private final long windowNanos;
+    private final Map<String, Long> expiresAt = new ConcurrentHashMap<>();
+
+    public ReadYourWrites(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    public void recordWrite(String portfolio) {
+        if (windowNanos > 0) {
+            expiresAt.put(portfolio, System.nanoTime() + windowNanos);
+        }
+    }
+
+    public boolean isRecent(String portfolio) {
+        Long expires = expiresAt.get(portfolio);
+        return expires != null && expires - System.nanoTime() > 0;
+    }
+
+    public void purgeExpired() {
+        long now = System.nanoTime();
+        expiresAt.values().removeIf(expires -> expires - now <= 0);
+    }
+}
@@ -0,0 +1,39 @@
+package br.edu.ufop.web.investments.replication;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import jakarta.persistence.EntityManagerFactory;
+
+// O Hibernate obtém a conexão ao iniciar a transação, antes de ela ser registrada como somente-leitura:
+// aqui o ReplicaRoutingDataSource fica sabendo disso a tempo de escolher uma réplica.
+// Depois de confirmar uma transação de escrita, abre a janela de leitura no primário da carteira.
+public class ReplicaAwareTransactionManager extends JpaTransactionManager {
+
+    private final transient ReadYourWrites readYourWrites;
+
+    public ReplicaAwareTransactionManager(EntityManagerFactory entityManagerFactory, ReadYourWrites readYourWrites) {
+        super(entityManagerFactory);
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        Boolean previous = ReplicaRoutingDataSource.beginReadOnly(definition.isReadOnly());
+        try {
+            super.doBegin(transaction, definition);
+        } finally {
+            ReplicaRoutingDataSource.endBegin(previous);
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            readYourWrites.recordWrite(PortfolioContext.current());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package br.edu.ufop.web.investments.replication;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import br.edu.ufop.web.investments.tenancy.ShardRoutingDataSource;
+
+// Testa periodicamente as réplicas do banco único ou de cada shard e tira do rodízio as que não respondem
+@Component
+@ConditionalOnProperty(name = "investments.replication.enabled", havingValue = "true")
+public class ReplicaHealthCheck {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Value("${investments.replication.health-check-timeout-seconds:2}")
+    private int timeoutSeconds;
+
+    @Scheduled(fixedDelayString = "${investments.replication.health-check-interval-ms:5000}")
+    public void check() {
+        for (ReplicaRoutingDataSource routing : routingDataSources()) {
+            routing.checkReplicas(timeoutSeconds);
+        }
+        readYourWrites.purgeExpired();
+    }
+
+    private List<ReplicaRoutingDataSource> routingDataSources() {
+        List<ReplicaRoutingDataSource> routing = new ArrayList<>();
+        if (dataSource instanceof ReplicaRoutingDataSource replicated) {
+            routing.add(replicated);
+        } else if (dataSource instanceof ShardRoutingDataSource shards) {
+            for (DataSource shard : shards.getResolvedDataSources().values()) {
+                if (shard instanceof ReplicaRoutingDataSource replicated) {
+                    routing.add(replicated);
+                }
+            }
+        }
+        return routing;
+    }
+}
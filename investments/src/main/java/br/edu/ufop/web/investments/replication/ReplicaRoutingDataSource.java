@@ -0,0 +1,144 @@
+package br.edu.ufop.web.investments.replication;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Primário mais réplicas de leitura de um mesmo banco. Transações somente-leitura recebem conexão de uma
+// réplica saudável, em rodízio; as demais (e tudo fora de transação) vão ao primário. Sem réplica saudável,
+// com a réplica recusando conexão ou com escrita recente da carteira (ReadYourWrites), a leitura vai ao primário.
+// A saúde das réplicas é atualizada por ReplicaHealthCheck.
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Marcado por ReplicaAwareTransactionManager enquanto a transação obtém a conexão, antes de o
+    // TransactionSynchronizationManager saber que ela é somente-leitura
+    private static final ThreadLocal<Boolean> BEGINNING_READ_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWrites readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.readYourWrites = readYourWrites;
+    }
+
+    static Boolean beginReadOnly(boolean readOnly) {
+        Boolean previous = BEGINNING_READ_ONLY.get();
+        BEGINNING_READ_ONLY.set(readOnly);
+        return previous;
+    }
+
+    static void endBegin(Boolean previous) {
+        if (previous != null) {
+            BEGINNING_READ_ONLY.set(previous);
+        } else {
+            BEGINNING_READ_ONLY.remove();
+        }
+    }
+
+    private static boolean isReadOnly() {
+        Boolean beginning = BEGINNING_READ_ONLY.get();
+        return beginning != null ? beginning : TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = isReadOnly() && !readYourWrites.isRecent(PortfolioContext.current()) ? nextHealthyReplica() : null;
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(1, size));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // Uma conexão de teste por réplica; a réplica volta ao rodízio assim que responder
+    public void checkReplicas(int timeoutSeconds) {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (connection.isValid(timeoutSeconds)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown(null);
+                }
+            } catch (SQLException e) {
+                replica.markDown(e);
+            }
+        }
+    }
+
+    // Chamado pelo contêiner no encerramento, quando este DataSource é o bean da aplicação
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    private static class Replica {
+
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void markUp() {
+            if (!healthy) {
+                log.info("Réplica {} voltou a responder", dataSource);
+                healthy = true;
+            }
+        }
+
+        void markDown(SQLException cause) {
+            if (healthy) {
+                log.warn("Réplica {} fora do rodízio; leituras vão ao primário: {}", dataSource,
+                        cause != null ? cause.getMessage() : "conexão inválida");
+                healthy = false;
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.models.IdempotencyRecord;
+
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, UUID> {
+
+    // Reserva a chave; devolve 0 se ela já existe. Uma transação concorrente com a mesma chave espera aqui
+    // até a primeira terminar, e então encontra a resposta gravada (ou a chave livre, se ela falhou).
+    // Nativa: a carteira não é preenchida pelo Hibernate e vem como parâmetro
+    @Modifying
+    @Query(value = """
+            INSERT INTO idempotency_keys (id, portfolio, idempotency_key, request_hash, created_at)
+            VALUES (gen_random_uuid(), :portfolio, :key, :requestHash, :createdAt)
+            ON CONFLICT (portfolio, idempotency_key) DO NOTHING
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("portfolio") String portfolio, @Param("key") String key,
+            @Param("requestHash") String requestHash, @Param("createdAt") Instant createdAt);
+
+    Optional<IdempotencyRecord> findByIdempotencyKey(String idempotencyKey);
+
+    @Modifying
+    @Query(value = """
+            UPDATE idempotency_keys SET response_body = :responseBody
+            WHERE portfolio = :portfolio AND idempotency_key = :key
+            """, nativeQuery = true)
+    void saveResponse(@Param("portfolio") String portfolio, @Param("key") String key,
+            @Param("responseBody") String responseBody);
+
+    // Todas as carteiras do banco (nativa: sem o filtro de carteira do Hibernate)
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE created_at < :cutoff", nativeQuery = true)
+    int deleteCreatedBefore(@Param("cutoff") Instant cutoff);
+}
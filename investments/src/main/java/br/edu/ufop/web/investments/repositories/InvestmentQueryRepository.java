@@ -0,0 +1,15 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.edu.ufop.web.investments.models.Investment;
+
+// Consultas de Investment por Specification que o JpaSpecificationExecutor não oferece
+public interface InvestmentQueryRepository {
+
+    // Cursor somente-leitura com os mesmos hints de streamByType; deve ser consumido dentro de uma transação
+    Stream<Investment> stream(Specification<Investment> specification, Sort sort);
+}
@@ -1,16 +1,72 @@
 package br.edu.ufop.web.investments.repositories;
 
+import static org.hibernate.jpa.AvailableHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.AvailableHints.HINT_READ_ONLY;
+
 import java.util.List;
 import java.util.UUID; // Import UUID
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import br.edu.ufop.web.investments.enums.AssetType;
 import br.edu.ufop.web.investments.models.Investment;
+import br.edu.ufop.web.investments.repositories.projections.AssetTypeTotal;
+import br.edu.ufop.web.investments.repositories.projections.InvestmentLot;
+import br.edu.ufop.web.investments.repositories.projections.SymbolHolding;
+import br.edu.ufop.web.investments.repositories.projections.SymbolPrice;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface InvestmentRepository extends JpaRepository<Investment, UUID> { // Change Long to UUID
+public interface InvestmentRepository extends JpaRepository<Investment, UUID>, // Change Long to UUID
+        JpaSpecificationExecutor<Investment>, InvestmentQueryRepository {
 
     List<Investment> findByType(AssetType type);
-}
\ No newline at end of file
+
+    // Resumo da carteira agregado no banco: uma linha por tipo, sem carregar as entidades
+    @Query("""
+            SELECT i.type AS type,
+                   SUM(i.purchasePrice * i.quantity) AS total,
+                   COUNT(i) AS count
+            FROM Investment i
+            GROUP BY i.type
+            """)
+    List<AssetTypeTotal> sumTotalsByType();
+
+    // Todas as carteiras do banco (nativa: sem o filtro de carteira do Hibernate)
+    @Query(value = "SELECT symbol AS symbol, MAX(purchase_price) AS price FROM investments GROUP BY symbol",
+            nativeQuery = true)
+    List<SymbolPrice> findReferencePrices();
+
+    @Query("""
+            SELECT i.symbol AS symbol,
+                   SUM(i.quantity) AS quantity,
+                   SUM(i.purchasePrice * i.quantity) AS costBasis
+            FROM Investment i
+            GROUP BY i.symbol
+            """)
+    List<SymbolHolding> sumHoldingsBySymbol();
+
+    // Cursor somente-leitura para respostas em streaming; deve ser consumido dentro de uma transação
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT i FROM Investment i WHERE (:type IS NULL OR i.type = :type) ORDER BY i.purchaseDate, i.id")
+    Stream<Investment> streamByType(@Param("type") AssetType type);
+
+    // Todos os lotes agrupados por símbolo (lotes do mesmo símbolo ficam contíguos), para as análises em paralelo
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new br.edu.ufop.web.investments.repositories.projections.InvestmentLot(
+                       i.type, i.symbol, i.quantity, i.purchasePrice, i.purchaseDate)
+            FROM Investment i
+            ORDER BY i.symbol
+            """)
+    List<InvestmentLot> findAllLotsOrderBySymbol();
+}
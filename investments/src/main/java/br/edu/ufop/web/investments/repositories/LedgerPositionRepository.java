@@ -0,0 +1,33 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufop.web.investments.models.LedgerPosition;
+import jakarta.persistence.LockModeType;
+
+@Repository
+public interface LedgerPositionRepository extends JpaRepository<LedgerPosition, UUID> {
+
+    // Garante a linha do símbolo sem disputar a chave com outra transação criando a mesma.
+    // Consulta nativa: a carteira não é preenchida pelo Hibernate e vem como parâmetro
+    @Modifying
+    @Query(value = """
+            INSERT INTO ledger_positions (id, portfolio, symbol, next_sequence)
+            VALUES (gen_random_uuid(), :portfolio, :symbol, 0)
+            ON CONFLICT (portfolio, symbol) DO NOTHING
+            """, nativeQuery = true)
+    void insertIfAbsent(@Param("portfolio") String portfolio, @Param("symbol") String symbol);
+
+    // Trava as posições em ordem de símbolo, para escritas concorrentes não se bloquearem em ordens diferentes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<LedgerPosition> findBySymbolInOrderBySymbol(Collection<String> symbols);
+}
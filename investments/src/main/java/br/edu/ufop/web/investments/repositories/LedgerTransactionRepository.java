@@ -0,0 +1,52 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufop.web.investments.models.LedgerTransaction;
+
+@Repository
+public interface LedgerTransactionRepository extends JpaRepository<LedgerTransaction, UUID> {
+
+    List<LedgerTransaction> findBySymbolOrderByTradeDateAscSequenceAsc(String symbol);
+
+    // Última transação antes da data: o estado de partida de um recálculo
+    Optional<LedgerTransaction> findFirstBySymbolAndTradeDateBeforeOrderByTradeDateDescSequenceDesc(String symbol, LocalDate date);
+
+    // Transações a recalcular a partir da data
+    List<LedgerTransaction> findBySymbolAndTradeDateGreaterThanEqualOrderByTradeDateAscSequenceAsc(String symbol, LocalDate date);
+
+    // Compras ainda abertas em FIFO depois de `sold` unidades vendidas (o total comprado até elas supera o vendido)
+    @Query("""
+            SELECT t FROM LedgerTransaction t
+            WHERE t.symbol = :symbol
+              AND t.side = br.edu.ufop.web.investments.enums.TransactionSide.BUY
+              AND t.stateAfter.cumulativeBought > :sold
+            ORDER BY t.tradeDate, t.sequence
+            """)
+    List<LedgerTransaction> findOpenBuys(@Param("symbol") String symbol, @Param("sold") long sold);
+
+    // Mesmo critério, restrito às compras anteriores à data de início de um recálculo
+    @Query("""
+            SELECT t FROM LedgerTransaction t
+            WHERE t.symbol = :symbol
+              AND t.side = br.edu.ufop.web.investments.enums.TransactionSide.BUY
+              AND t.stateAfter.cumulativeBought > :sold
+              AND t.tradeDate < :date
+            ORDER BY t.tradeDate, t.sequence
+            """)
+    List<LedgerTransaction> findOpenBuysBefore(@Param("symbol") String symbol, @Param("sold") long sold, @Param("date") LocalDate date);
+
+    @Modifying(flushAutomatically = true)
+    @Query("DELETE FROM LedgerTransaction t WHERE t.investmentId IN :investmentIds")
+    void deleteByInvestmentIds(@Param("investmentIds") Collection<UUID> investmentIds);
+}
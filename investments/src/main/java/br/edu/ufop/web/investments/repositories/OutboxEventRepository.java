@@ -0,0 +1,46 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.models.OutboxEvent;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Próximas pendentes, travadas até o fim da transação; SKIP LOCKED deixa outra instância
+    // despachar as seguintes em vez de esperar por estas
+    @Query(value = """
+            SELECT * FROM investment_outbox
+            WHERE published_at IS NULL
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<OutboxEvent> lockPending(@Param("limit") int limit);
+
+    // Publicados a partir de um instante, para o repasse às instâncias (OutboxFanOut)
+    @Query("SELECT e FROM OutboxEvent e WHERE e.publishedAt >= :since ORDER BY e.publishedAt, e.id")
+    List<OutboxEvent> findPublishedSince(@Param("since") Instant since);
+
+    @Query("SELECT COUNT(e) FROM OutboxEvent e WHERE e.publishedAt IS NULL")
+    long countPending();
+
+    // Devolve à fila os eventos a partir de um ID, para serem publicados de novo
+    @Transactional
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = NULL WHERE e.id >= :fromId AND e.publishedAt IS NOT NULL")
+    int markUnpublishedFrom(@Param("fromId") long fromId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") Instant cutoff);
+}
@@ -0,0 +1,39 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufop.web.investments.models.PortfolioDailySnapshot;
+
+@Repository
+public interface PortfolioDailySnapshotRepository extends JpaRepository<PortfolioDailySnapshot, UUID> {
+
+    // Soma a variação na linha da data, criando-a se ainda não existir (nativa: a carteira vem como parâmetro)
+    @Modifying
+    @Query(value = """
+            INSERT INTO portfolio_daily_snapshots (id, portfolio, snapshot_date, invested_amount, asset_count)
+            VALUES (gen_random_uuid(), :portfolio, :date, :amount, :count)
+            ON CONFLICT (portfolio, snapshot_date) DO UPDATE
+            SET invested_amount = portfolio_daily_snapshots.invested_amount + EXCLUDED.invested_amount,
+                asset_count = portfolio_daily_snapshots.asset_count + EXCLUDED.asset_count
+            """, nativeQuery = true)
+    void addChange(@Param("portfolio") String portfolio, @Param("date") LocalDate date,
+            @Param("amount") BigDecimal amount, @Param("count") long count);
+
+    List<PortfolioDailySnapshot> findBySnapshotDateBetweenOrderBySnapshotDate(LocalDate from, LocalDate to);
+
+    @Query("SELECT COALESCE(SUM(s.investedAmount), 0) FROM PortfolioDailySnapshot s WHERE s.snapshotDate < :date")
+    BigDecimal sumInvestedBefore(@Param("date") LocalDate date);
+
+    @Query("SELECT MIN(s.snapshotDate) FROM PortfolioDailySnapshot s")
+    Optional<LocalDate> findFirstSnapshotDate();
+}
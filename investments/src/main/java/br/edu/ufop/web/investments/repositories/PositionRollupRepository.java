@@ -0,0 +1,81 @@
+package br.edu.ufop.web.investments.repositories;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.PositionRollup;
+
+// Consultas nativas: a carteira não é preenchida pelo Hibernate e vem como parâmetro
+@Repository
+public interface PositionRollupRepository extends JpaRepository<PositionRollup, UUID> {
+
+    // Soma a variação (com ao menos um lote entrando) na linha do símbolo/tipo, criando-a se ainda não existir.
+    // As datas só se alargam aqui (LEAST/GREATEST); depois de remoções, refreshDates as recalcula
+    @Modifying
+    @Query(value = """
+            INSERT INTO position_rollups (id, portfolio, symbol, type, total_quantity, total_cost, average_price,
+                                          lot_count, first_purchase_date, last_purchase_date)
+            VALUES (gen_random_uuid(), :portfolio, :symbol, :type, :quantity, :cost,
+                    COALESCE(ROUND(:cost / NULLIF(:quantity, 0), 2), 0), :count,
+                    :firstDate, :lastDate)
+            ON CONFLICT (portfolio, symbol, type) DO UPDATE
+            SET total_quantity = position_rollups.total_quantity + EXCLUDED.total_quantity,
+                total_cost = position_rollups.total_cost + EXCLUDED.total_cost,
+                average_price = COALESCE(ROUND((position_rollups.total_cost + EXCLUDED.total_cost)
+                        / NULLIF(position_rollups.total_quantity + EXCLUDED.total_quantity, 0), 2), 0),
+                lot_count = position_rollups.lot_count + EXCLUDED.lot_count,
+                first_purchase_date = LEAST(position_rollups.first_purchase_date, EXCLUDED.first_purchase_date),
+                last_purchase_date = GREATEST(position_rollups.last_purchase_date, EXCLUDED.last_purchase_date)
+            """, nativeQuery = true)
+    void addChange(@Param("portfolio") String portfolio, @Param("symbol") String symbol, @Param("type") String type,
+            @Param("quantity") long quantity, @Param("cost") BigDecimal cost, @Param("count") long count,
+            @Param("firstDate") LocalDate firstDate, @Param("lastDate") LocalDate lastDate);
+
+    // Só lotes saindo: a linha já existe (o INSERT acima nem serviria, suas datas seriam nulas)
+    @Modifying
+    @Query(value = """
+            UPDATE position_rollups
+            SET total_quantity = total_quantity + :quantity,
+                total_cost = total_cost + :cost,
+                average_price = COALESCE(ROUND((total_cost + :cost) / NULLIF(total_quantity + :quantity, 0), 2), 0),
+                lot_count = lot_count + :count
+            WHERE portfolio = :portfolio AND symbol = :symbol AND type = :type
+            """, nativeQuery = true)
+    void addToExisting(@Param("portfolio") String portfolio, @Param("symbol") String symbol, @Param("type") String type,
+            @Param("quantity") long quantity, @Param("cost") BigDecimal cost, @Param("count") long count);
+
+    // Recalcula as datas a partir dos lotes, só se a primeira ou a última pode ter sido um lote removido
+    @Modifying
+    @Query(value = """
+            UPDATE position_rollups r
+            SET first_purchase_date = l.first_date, last_purchase_date = l.last_date
+            FROM (SELECT MIN(purchase_date) AS first_date, MAX(purchase_date) AS last_date
+                  FROM investments
+                  WHERE portfolio = :portfolio AND symbol = :symbol AND type = :type) l
+            WHERE r.portfolio = :portfolio AND r.symbol = :symbol AND r.type = :type
+              AND r.lot_count > 0
+              AND (r.first_purchase_date >= :removedFirst OR r.last_purchase_date <= :removedLast)
+            """, nativeQuery = true)
+    void refreshDates(@Param("portfolio") String portfolio, @Param("symbol") String symbol, @Param("type") String type,
+            @Param("removedFirst") LocalDate removedFirst, @Param("removedLast") LocalDate removedLast);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM position_rollups
+            WHERE portfolio = :portfolio AND symbol = :symbol AND type = :type AND lot_count = 0
+            """, nativeQuery = true)
+    void deleteIfEmpty(@Param("portfolio") String portfolio, @Param("symbol") String symbol, @Param("type") String type);
+
+    List<PositionRollup> findAllByOrderBySymbolAscTypeAsc();
+
+    List<PositionRollup> findByTypeOrderBySymbol(AssetType type);
+}
@@ -0,0 +1,15 @@
+package br.edu.ufop.web.investments.repositories.projections;
+
+import java.math.BigDecimal;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+// Linha agregada por tipo de ativo (SUM/COUNT calculados no banco)
+public interface AssetTypeTotal {
+
+    AssetType getType();
+
+    BigDecimal getTotal();
+
+    long getCount();
+}
@@ -0,0 +1,15 @@
+package br.edu.ufop.web.investments.repositories.projections;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+
+// Lote reduzido às colunas usadas pelas análises (sem id nem proxy de entidade)
+public record InvestmentLot(
+    AssetType type,
+    String symbol,
+    Integer quantity,
+    BigDecimal purchasePrice,
+    LocalDate purchaseDate
+) {}
@@ -0,0 +1,13 @@
+package br.edu.ufop.web.investments.repositories.projections;
+
+import java.math.BigDecimal;
+
+// Quantidade e custo totais de um símbolo somando todos os lotes
+public interface SymbolHolding {
+
+    String getSymbol();
+
+    long getQuantity();
+
+    BigDecimal getCostBasis();
+}
@@ -0,0 +1,11 @@
+package br.edu.ufop.web.investments.repositories.projections;
+
+import java.math.BigDecimal;
+
+// Preço de referência de um símbolo (usado para iniciar o simulador de cotações)
+public interface SymbolPrice {
+
+    String getSymbol();
+
+    BigDecimal getPrice();
+}
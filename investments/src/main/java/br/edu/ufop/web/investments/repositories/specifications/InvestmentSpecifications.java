@@ -0,0 +1,81 @@
+package br.edu.ufop.web.investments.repositories.specifications;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.edu.ufop.web.investments.domain.InvestmentCursor;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.Investment;
+import jakarta.persistence.criteria.Expression;
+
+// Critérios de filtro de Investment. Cada um ignora o próprio parâmetro quando nulo, então a
+// combinação com Specification.allOf vira uma única consulta só com as condições informadas.
+public final class InvestmentSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private InvestmentSpecifications() {
+    }
+
+    // Usa o índice (type, purchase_date, id)
+    public static Specification<Investment> hasType(AssetType type) {
+        return (root, query, builder) -> type == null ? null : builder.equal(root.get("type"), type);
+    }
+
+    // LIKE 'prefixo%' usa o índice de symbol com varchar_pattern_ops
+    public static Specification<Investment> symbolStartsWith(String prefix) {
+        return (root, query, builder) -> prefix == null || prefix.isBlank()
+                ? null
+                : builder.like(root.get("symbol"), escapeLike(prefix.trim()) + "%", LIKE_ESCAPE);
+    }
+
+    public static Specification<Investment> purchasedBetween(LocalDate from, LocalDate to) {
+        return (root, query, builder) -> {
+            if (from != null && to != null) {
+                return builder.between(root.get("purchaseDate"), from, to);
+            }
+            if (from != null) {
+                return builder.greaterThanOrEqualTo(root.get("purchaseDate"), from);
+            }
+            return to == null ? null : builder.lessThanOrEqualTo(root.get("purchaseDate"), to);
+        };
+    }
+
+    // Valor do lote calculado no banco; não há índice, a condição filtra as linhas que os outros critérios trazem
+    public static Specification<Investment> valueBetween(BigDecimal minValue, BigDecimal maxValue) {
+        return (root, query, builder) -> {
+            if (minValue == null && maxValue == null) {
+                return null;
+            }
+            Expression<Number> value = builder.prod(root.get("purchasePrice"), root.get("quantity"));
+            if (minValue != null && maxValue != null) {
+                return builder.and(builder.ge(value, minValue), builder.le(value, maxValue));
+            }
+            return minValue != null ? builder.ge(value, minValue) : builder.le(value, maxValue);
+        };
+    }
+
+    // Registros depois do cursor na ordem (purchaseDate, id). O ">=" redundante na data deixa o
+    // banco começar a varredura do índice no cursor em vez do início
+    public static Specification<Investment> after(InvestmentCursor cursor) {
+        return (root, query, builder) -> cursor == null ? null : builder.and(
+                builder.greaterThanOrEqualTo(root.get("purchaseDate"), cursor.purchaseDate()),
+                builder.or(
+                        builder.greaterThan(root.get("purchaseDate"), cursor.purchaseDate()),
+                        builder.greaterThan(root.get("id"), cursor.id())));
+    }
+
+    private static String escapeLike(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '%' || c == '_' || c == LIKE_ESCAPE) {
+                escaped.append(LIKE_ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
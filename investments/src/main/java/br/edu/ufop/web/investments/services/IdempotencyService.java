@@ -0,0 +1,108 @@
+package br.edu.ufop.web.investments.services;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufop.web.investments.models.IdempotencyRecord;
+import br.edu.ufop.web.investments.repositories.IdempotencyRecordRepository;
+import br.edu.ufop.web.investments.tenancy.DatabaseShards;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Criações com o cabeçalho Idempotency-Key: a chave é reservada, a criação roda e a resposta é gravada,
+// tudo na mesma transação. Uma nova tentativa com a mesma chave (por exemplo, depois de um timeout)
+// recebe a resposta original; se a criação falhou, nada foi gravado e a chave continua livre.
+// Duas requisições simultâneas com a mesma chave se serializam no índice único, sem trava explícita,
+// inclusive entre instâncias do serviço.
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private DatabaseShards databaseShards;
+
+    @Value("${investments.idempotency.ttl:24h}")
+    private Duration ttl;
+
+    // operation identifica o endpoint, para a mesma chave não valer em dois endpoints diferentes
+    @Transactional
+    public <T> T execute(String key, String operation, Object request, Class<T> responseType, Supplier<T> creation) {
+        checkKey(key);
+        String portfolio = PortfolioContext.current();
+        String requestHash = hash(operation, request);
+
+        if (idempotencyRecordRepository.insertIfAbsent(portfolio, key, requestHash, Instant.now()) == 0) {
+            IdempotencyRecord existing = idempotencyRecordRepository.findByIdempotencyKey(key)
+                    .orElseThrow(() -> new IllegalStateException("Chave de idempotência " + key + " não encontrada."));
+            if (!existing.getRequestHash().equals(requestHash)) {
+                throw new IllegalArgumentException("A chave de idempotência " + key + " já foi usada com outra requisição.");
+            }
+            return fromJson(existing.getResponseBody(), responseType);
+        }
+
+        T response = creation.get();
+        idempotencyRecordRepository.saveResponse(portfolio, key, toJson(response));
+        return response;
+    }
+
+    // Remove as chaves expiradas de todas as carteiras
+    @Scheduled(fixedDelayString = "${investments.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        Instant cutoff = Instant.now().minus(ttl);
+        databaseShards.forEach(() -> idempotencyRecordRepository.deleteCreatedBefore(cutoff));
+    }
+
+    private static void checkKey(String key) {
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("A chave de idempotência deve ter de 1 a " + MAX_KEY_LENGTH + " caracteres.");
+        }
+    }
+
+    private String hash(String operation, Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(operation.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException | JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao calcular o hash da requisição.", e);
+        }
+    }
+
+    private String toJson(Object response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao gravar a resposta da requisição idempotente.", e);
+        }
+    }
+
+    private <T> T fromJson(String responseBody, Class<T> responseType) {
+        try {
+            return objectMapper.readValue(responseBody, responseType);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao ler a resposta da requisição idempotente.", e);
+        }
+    }
+}
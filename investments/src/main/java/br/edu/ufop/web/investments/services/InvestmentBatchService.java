@@ -0,0 +1,298 @@
+package br.edu.ufop.web.investments.services;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.converters.InvestmentConverter;
+import br.edu.ufop.web.investments.domain.InvestmentDomain;
+import br.edu.ufop.web.investments.domain.usecases.CreateInvestmentUseCase;
+import br.edu.ufop.web.investments.domain.usecases.UpdateInvestmentUseCase;
+import br.edu.ufop.web.investments.dtos.BatchItemResultDTO;
+import br.edu.ufop.web.investments.dtos.BatchResultDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentBatchUpdateItemDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.enums.BatchItemStatus;
+import br.edu.ufop.web.investments.enums.InvestmentChangeType;
+import br.edu.ufop.web.investments.models.Investment;
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService.SnapshotChanges;
+import br.edu.ufop.web.investments.services.outbox.OutboxService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Operações em lote: valida item a item e grava os válidos em uma única transação,
+// liberando o contexto de persistência a cada lote JDBC (hibernate.jdbc.batch_size)
+@Service
+public class InvestmentBatchService {
+
+    private static final int MAX_ITEMS = 10_000;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private InvestmentConverter investmentConverter;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private PortfolioSnapshotService snapshotService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PositionRollupService positionRollupService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private InvestmentCacheInvalidator investmentCacheInvalidator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    @Transactional
+    public BatchResultDTO createInvestments(List<InvestmentRequestDTO> requestDtos) {
+        checkSize(requestDtos);
+        List<BatchItemResultDTO> results = new ArrayList<>(requestDtos.size());
+        SnapshotChanges snapshotChanges = new SnapshotChanges();
+        int pending = 0;
+
+        for (int index = 0; index < requestDtos.size(); index++) {
+            InvestmentRequestDTO requestDto = requestDtos.get(index);
+            String error = validateRequest(requestDto);
+            InvestmentDomain investmentDomain = error == null ? investmentConverter.toDomain(requestDto) : null;
+            if (error == null) {
+                error = validateCreate(investmentDomain);
+            }
+            if (error != null) {
+                results.add(new BatchItemResultDTO(index, null, BatchItemStatus.REJECTED, error));
+                continue;
+            }
+
+            Investment investmentModel = investmentConverter.toModel(investmentDomain);
+            entityManager.persist(investmentModel);
+            snapshotChanges.added(investmentModel);
+            results.add(new BatchItemResultDTO(index, investmentModel.getId(), BatchItemStatus.CREATED, null));
+
+            if (++pending == batchSize) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        snapshotService.recordChanges(snapshotChanges);
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        publishChanges(InvestmentChangeType.CREATED, succeededIds(results));
+        return new BatchResultDTO(results);
+    }
+
+    // Grava investimentos já validados em uma transação; usado pela importação, um lote por chamada
+    @Transactional
+    public int insertAll(List<InvestmentDomain> investments) {
+        SnapshotChanges snapshotChanges = new SnapshotChanges();
+        List<UUID> createdIds = new ArrayList<>(investments.size());
+        int pending = 0;
+
+        for (InvestmentDomain investmentDomain : investments) {
+            Investment investmentModel = investmentConverter.toModel(investmentDomain);
+            entityManager.persist(investmentModel);
+            snapshotChanges.added(investmentModel);
+            createdIds.add(investmentModel.getId());
+
+            if (++pending == batchSize) {
+                flushAndClear();
+                pending = 0;
+            }
+        }
+        flushAndClear();
+        snapshotService.recordChanges(snapshotChanges);
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        publishChanges(InvestmentChangeType.CREATED, createdIds);
+        return createdIds.size();
+    }
+
+    @Transactional
+    public BatchResultDTO updateInvestments(List<InvestmentBatchUpdateItemDTO> items) {
+        checkSize(items);
+        List<BatchItemResultDTO> results = new ArrayList<>(items.size());
+        SnapshotChanges snapshotChanges = new SnapshotChanges();
+
+        // Carrega e atualiza em blocos do tamanho do lote JDBC para manter o contexto pequeno
+        for (int start = 0; start < items.size(); start += batchSize) {
+            List<InvestmentBatchUpdateItemDTO> chunk = items.subList(start, Math.min(start + batchSize, items.size()));
+            Map<UUID, Investment> existing = findAllById(chunk.stream()
+                    .filter(item -> item != null && item.id() != null)
+                    .map(InvestmentBatchUpdateItemDTO::id)
+                    .collect(Collectors.toSet()));
+
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = start + offset;
+                InvestmentBatchUpdateItemDTO item = chunk.get(offset);
+                String error = validateRequest(item);
+                if (error != null) {
+                    results.add(new BatchItemResultDTO(index, item != null ? item.id() : null, BatchItemStatus.REJECTED, error));
+                    continue;
+                }
+
+                Investment existingInvestment = existing.get(item.id());
+                if (existingInvestment == null) {
+                    results.add(new BatchItemResultDTO(index, item.id(), BatchItemStatus.NOT_FOUND,
+                            "Investimento com ID " + item.id() + " não encontrado."));
+                    continue;
+                }
+
+                if (item.version() != null && !item.version().equals(existingInvestment.getVersion())) {
+                    results.add(new BatchItemResultDTO(index, item.id(), BatchItemStatus.CONFLICT,
+                            "Investimento com ID " + item.id() + " está na versão " + existingInvestment.getVersion() + "."));
+                    continue;
+                }
+
+                InvestmentDomain investmentDomain = investmentConverter.toDomain(item.investment());
+                investmentDomain.setId(item.id());
+                error = validateUpdate(investmentDomain);
+                if (error != null) {
+                    results.add(new BatchItemResultDTO(index, item.id(), BatchItemStatus.REJECTED, error));
+                    continue;
+                }
+
+                snapshotChanges.removed(existingInvestment);
+                investmentConverter.updateModelFromDomain(existingInvestment, investmentDomain);
+                snapshotChanges.added(existingInvestment);
+                results.add(new BatchItemResultDTO(index, item.id(), BatchItemStatus.UPDATED, null));
+            }
+            flushAndClear();
+        }
+        snapshotService.recordChanges(snapshotChanges);
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        publishChanges(InvestmentChangeType.UPDATED, succeededIds(results));
+        return new BatchResultDTO(results);
+    }
+
+    @Transactional
+    public BatchResultDTO deleteInvestments(List<UUID> ids) {
+        checkSize(ids);
+        List<BatchItemResultDTO> results = new ArrayList<>(ids.size());
+        SnapshotChanges snapshotChanges = new SnapshotChanges();
+        Set<UUID> deleted = new HashSet<>();
+
+        for (int start = 0; start < ids.size(); start += batchSize) {
+            List<UUID> chunk = ids.subList(start, Math.min(start + batchSize, ids.size()));
+            Map<UUID, Investment> existing = findAllById(chunk.stream()
+                    .filter(id -> id != null && !deleted.contains(id))
+                    .collect(Collectors.toSet()));
+
+            List<UUID> toDelete = new ArrayList<>(existing.size());
+            for (int offset = 0; offset < chunk.size(); offset++) {
+                int index = start + offset;
+                UUID id = chunk.get(offset);
+                Investment investment = id != null ? existing.remove(id) : null;
+                if (id == null) {
+                    results.add(new BatchItemResultDTO(index, null, BatchItemStatus.REJECTED, "O ID do investimento não pode ser nulo."));
+                } else if (investment != null) {
+                    toDelete.add(id);
+                    deleted.add(id);
+                    snapshotChanges.removed(investment);
+                    results.add(new BatchItemResultDTO(index, id, BatchItemStatus.DELETED, null));
+                } else {
+                    results.add(new BatchItemResultDTO(index, id, BatchItemStatus.NOT_FOUND,
+                            "Investimento com ID " + id + " não encontrado."));
+                }
+            }
+            entityManager.clear();
+            investmentRepository.deleteAllByIdInBatch(toDelete);
+        }
+        snapshotService.recordChanges(snapshotChanges);
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        publishChanges(InvestmentChangeType.DELETED, succeededIds(results));
+        return new BatchResultDTO(results);
+    }
+
+    private Map<UUID, Investment> findAllById(Set<UUID> ids) {
+        return investmentRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Investment::getId, Function.identity()));
+    }
+
+    private List<UUID> succeededIds(List<BatchItemResultDTO> results) {
+        return results.stream()
+                .filter(result -> result.error() == null)
+                .map(BatchItemResultDTO::id)
+                .toList();
+    }
+
+    // Registra a escrita no outbox e remove do cache os investimentos escritos e o resumo (após o commit)
+    private void publishChanges(InvestmentChangeType change, List<UUID> changedIds) {
+        outboxService.append(change, changedIds);
+        investmentCacheInvalidator.evictAfterCommit(changedIds);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private void checkSize(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("O lote não pode ser vazio.");
+        }
+        if (items.size() > MAX_ITEMS) {
+            throw new IllegalArgumentException("O lote deve ter no máximo " + MAX_ITEMS + " itens.");
+        }
+    }
+
+    // Mesmas restrições do @Valid dos endpoints unitários, mas sem abortar o lote inteiro
+    String validateRequest(Object item) {
+        if (item == null) {
+            return "O item não pode ser nulo.";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(item);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    String validateCreate(InvestmentDomain investmentDomain) {
+        try {
+            new CreateInvestmentUseCase(investmentDomain).validate();
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+
+    private String validateUpdate(InvestmentDomain investmentDomain) {
+        try {
+            new UpdateInvestmentUseCase(investmentDomain).validate();
+            return null;
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+    }
+}
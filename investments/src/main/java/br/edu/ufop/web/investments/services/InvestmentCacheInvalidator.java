@@ -0,0 +1,62 @@
+package br.edu.ufop.web.investments.services;
+
+import static br.edu.ufop.web.investments.config.CacheConfig.INVESTMENTS_CACHE;
+import static br.edu.ufop.web.investments.config.CacheConfig.SUMMARY_CACHE;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Remove do cache só o que uma escrita afeta: os investimentos escritos e o resumo da carteira deles.
+// Duas vezes: na instância que escreveu, logo após o commit, e em todas as instâncias quando o evento da
+// escrita chega pelo outbox (OutboxFanOut). A segunda remoção também apaga o valor antigo que uma leitura
+// começada antes do commit tenha posto no cache depois da primeira. Nas outras instâncias o valor antigo
+// dura até o evento chegar (um ou dois intervalos de despacho do outbox), e não até a expiração do cache.
+@Component
+public class InvestmentCacheInvalidator {
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    // Na carteira corrente, após o commit da transação em andamento (sem transação, na hora).
+    // Antes do commit não serviria: uma leitura logo depois ainda veria os dados antigos.
+    public void evictAfterCommit(Collection<UUID> investmentIds) {
+        String portfolio = PortfolioContext.current();
+        List<UUID> ids = List.copyOf(investmentIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(portfolio, ids);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(portfolio, ids);
+            }
+        });
+    }
+
+    // Escritas de qualquer instância, repassadas pelo OutboxFanOut desta
+    @TransactionalEventListener
+    public void onInvestmentsChanged(InvestmentsChangedEvent event) {
+        evict(event.portfolio(), event.investmentIds());
+    }
+
+    private void evict(String portfolio, Collection<UUID> investmentIds) {
+        Cache investments = cacheManager.getCache(INVESTMENTS_CACHE);
+        for (UUID id : investmentIds) {
+            investments.evict(PortfolioContext.cacheKey(portfolio, id));
+        }
+        cacheManager.getCache(SUMMARY_CACHE).evict(PortfolioContext.portfolioCacheKey(portfolio));
+    }
+}
@@ -0,0 +1,94 @@
+package br.edu.ufop.web.investments.services;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Locale;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufop.web.investments.converters.InvestmentConverter;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.ExportFormat;
+import br.edu.ufop.web.investments.models.Investment;
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.services.exports.ColumnarExportWriter;
+import br.edu.ufop.web.investments.services.exports.CsvExportWriter;
+import br.edu.ufop.web.investments.services.exports.ExportWriter;
+import br.edu.ufop.web.investments.services.exports.NdjsonExportWriter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Exportação da carteira direto para o fluxo da resposta: percorre o cursor somente-leitura
+// e somente-avante de streamByType e escreve cada entidade no formato pedido, descartando-a
+// do contexto de persistência em seguida. A memória usada não depende do número de linhas.
+@Service
+public class InvestmentExportService {
+
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private InvestmentConverter investmentConverter;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportFormat parseFormat(String format) {
+        if (format == null || format.isBlank()) {
+            return ExportFormat.CSV;
+        }
+        try {
+            return ExportFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Formato de exportação inválido: " + format + " (use csv, ndjson ou columnar).");
+        }
+    }
+
+    public AssetType parseType(String type) {
+        return InvestmentService.parseAssetType(type);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportInvestments(AssetType type, ExportFormat format, boolean gzip, OutputStream output) throws IOException {
+        GZIPOutputStream gzipOutput = gzip ? new GZIPOutputStream(output, GZIP_BUFFER_SIZE) : null;
+        ExportWriter writer = createWriter(format, gzipOutput != null ? gzipOutput : output);
+
+        try (Stream<Investment> investments = investmentRepository.streamByType(type)) {
+            investments.forEach(investment -> {
+                try {
+                    writer.write(investment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                entityManager.detach(investment);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.finish();
+        if (gzipOutput != null) {
+            gzipOutput.finish();
+        }
+    }
+
+    private ExportWriter createWriter(ExportFormat format, OutputStream output) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvExportWriter(output);
+            case NDJSON -> new NdjsonExportWriter(output, objectMapper, investmentConverter);
+            case COLUMNAR -> new ColumnarExportWriter(output);
+        };
+    }
+}
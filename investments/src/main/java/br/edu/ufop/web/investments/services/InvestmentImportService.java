@@ -0,0 +1,238 @@
+package br.edu.ufop.web.investments.services;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.edu.ufop.web.investments.converters.InvestmentConverter;
+import br.edu.ufop.web.investments.domain.InvestmentDomain;
+import br.edu.ufop.web.investments.dtos.ImportErrorDTO;
+import br.edu.ufop.web.investments.dtos.ImportResultDTO;
+import br.edu.ufop.web.investments.enums.ImportFormat;
+import br.edu.ufop.web.investments.exceptions.ImportCapacityExceededException;
+import br.edu.ufop.web.investments.services.imports.CsvRowReader;
+import br.edu.ufop.web.investments.services.imports.ImportRow;
+import br.edu.ufop.web.investments.services.imports.ImportRowReader;
+import br.edu.ufop.web.investments.services.imports.NdjsonRowReader;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Importação de extratos em CSV/NDJSON, em duas etapas encadeadas:
+// a thread da requisição lê e valida linha a linha e monta lotes; uma thread gravadora grava
+// cada lote em sua própria transação enquanto o próximo é montado. A fila entre as duas é
+// limitada, então o leitor espera o banco e a memória não cresce com o tamanho do arquivo.
+// Linhas rejeitadas são escritas no relatório (NDJSON) assim que encontradas.
+@Service
+public class InvestmentImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(InvestmentImportService.class);
+
+    private static final int QUEUE_CAPACITY = 4; // lotes prontos aguardando gravação
+    private static final long HAND_OFF_POLL_MS = 100;
+    private static final long WRITER_TERMINATION_MS = 5000;
+    private static final List<InvestmentDomain> END_OF_INPUT = List.of();
+
+    @Autowired
+    private InvestmentBatchService investmentBatchService;
+
+    @Autowired
+    private InvestmentConverter investmentConverter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:500}")
+    private int batchSize;
+
+    @Autowired
+    private Environment environment;
+
+    @Value("${investments.import.max-concurrent:4}")
+    private int maxConcurrentImports;
+
+    private SimpleAsyncTaskExecutor writers;
+    private Semaphore importPermits;
+
+    // Uma thread gravadora por importação em andamento, na carteira de quem importa. Com spring.threads.virtual.enabled
+    // (Java 21+) ela é virtual, como as threads das requisições: esperar o banco não prende uma thread de plataforma.
+    // No máximo investments.import.max-concurrent importações ao mesmo tempo; as demais são recusadas em open.
+    @PostConstruct
+    public void start() {
+        importPermits = new Semaphore(maxConcurrentImports);
+        writers = new SimpleAsyncTaskExecutor("investment-import-writer-");
+        writers.setConcurrencyLimit(maxConcurrentImports);
+        writers.setTaskDecorator(PortfolioContext::wrap);
+        writers.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        writers.setDaemon(true);
+        writers.setTaskTerminationTimeout(WRITER_TERMINATION_MS);
+    }
+
+    // Espera até WRITER_TERMINATION_MS que os gravadores ativos terminem e interrompe os que restarem
+    @PreDestroy
+    public void shutdown() {
+        writers.close();
+    }
+
+    // Reserva uma vaga de importação, abre o arquivo e lê o cabeçalho (CSV); a falta de vaga e os erros de formato
+    // aparecem aqui, antes de a resposta começar. A vaga é devolvida quando o leitor retornado é fechado.
+    public ImportRowReader open(InputStream input, ImportFormat format) throws IOException {
+        if (!importPermits.tryAcquire()) {
+            throw new ImportCapacityExceededException("Há importações demais em andamento; tente novamente em instantes.");
+        }
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            ImportRowReader rows = switch (format) {
+                case CSV -> new CsvRowReader(reader);
+                case NDJSON -> new NdjsonRowReader(reader, objectMapper.reader());
+            };
+            return new PermitReleasingRowReader(rows, importPermits);
+        } catch (IOException | RuntimeException e) {
+            importPermits.release();
+            throw e;
+        }
+    }
+
+    public void importInvestments(ImportRowReader rows, OutputStream output) throws IOException {
+        ObjectWriter reportWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        BlockingQueue<List<InvestmentDomain>> batches = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        AtomicLong imported = new AtomicLong();
+        Future<?> writer;
+        try {
+            writer = writers.submit(() -> writeBatches(batches, imported));
+        } catch (RuntimeException e) {
+            rows.close();
+            throw e;
+        }
+        boolean finished = false;
+
+        try (rows; JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+            generator.setRootValueSeparator(null); // o separador entre linhas é o '\n' abaixo
+            long rejected = 0;
+            String failure = null;
+            List<InvestmentDomain> batch = new ArrayList<>(batchSize);
+
+            try {
+                ImportRow row;
+                while ((row = rows.next()) != null) {
+                    InvestmentDomain investmentDomain = null;
+                    String error = row.error();
+                    if (error == null) {
+                        error = investmentBatchService.validateRequest(row.request());
+                    }
+                    if (error == null) {
+                        investmentDomain = investmentConverter.toDomain(row.request());
+                        error = investmentBatchService.validateCreate(investmentDomain);
+                    }
+                    if (error != null) {
+                        rejected++;
+                        reportWriter.writeValue(generator, new ImportErrorDTO(row.line(), error));
+                        generator.writeRaw('\n');
+                        continue;
+                    }
+
+                    batch.add(investmentDomain);
+                    if (batch.size() == batchSize) {
+                        handOff(batches, batch, writer);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    handOff(batches, batch, writer);
+                }
+                handOff(batches, END_OF_INPUT, writer);
+                writer.get();
+            } catch (ExecutionException e) {
+                // O gravador parou; os lotes já confirmados permanecem gravados
+                log.warn("Falha ao gravar lote da importação", e.getCause());
+                failure = "Falha ao gravar os investimentos; a importação foi interrompida.";
+            }
+
+            reportWriter.writeValue(generator, new ImportResultDTO(imported.get(), rejected, failure));
+            generator.writeRaw('\n');
+            finished = true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Importação interrompida.", e);
+        } finally {
+            if (!finished) {
+                writer.cancel(true);
+            }
+        }
+    }
+
+    // Etapa gravadora: um lote por transação, até o marcador de fim
+    private Void writeBatches(BlockingQueue<List<InvestmentDomain>> batches, AtomicLong imported) throws InterruptedException {
+        List<InvestmentDomain> batch;
+        while ((batch = batches.take()) != END_OF_INPUT) {
+            imported.addAndGet(investmentBatchService.insertAll(batch));
+        }
+        return null;
+    }
+
+    // Entrega o lote ao gravador, esperando vaga na fila; se o gravador tiver falhado, propaga a falha
+    private void handOff(BlockingQueue<List<InvestmentDomain>> batches, List<InvestmentDomain> batch, Future<?> writer)
+            throws InterruptedException, ExecutionException {
+        while (!batches.offer(batch, HAND_OFF_POLL_MS, TimeUnit.MILLISECONDS)) {
+            if (writer.isDone()) {
+                writer.get();
+            }
+        }
+    }
+
+    // Devolve a vaga de importação uma única vez, ao fechar o leitor
+    private static final class PermitReleasingRowReader implements ImportRowReader {
+
+        private final ImportRowReader rows;
+        private final Semaphore permits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingRowReader(ImportRowReader rows, Semaphore permits) {
+            this.rows = rows;
+            this.permits = permits;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            return rows.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                rows.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
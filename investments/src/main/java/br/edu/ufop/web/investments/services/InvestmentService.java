@@ -1,77 +1,164 @@
 package br.edu.ufop.web.investments.services;
 
+import static br.edu.ufop.web.investments.config.CacheConfig.INVESTMENTS_CACHE;
+import static br.edu.ufop.web.investments.config.CacheConfig.PORTFOLIO_ID_KEY;
+import static br.edu.ufop.web.investments.config.CacheConfig.PORTFOLIO_KEY;
+import static br.edu.ufop.web.investments.config.CacheConfig.SUMMARY_CACHE;
+
 import java.math.BigDecimal;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID; // Import UUID
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import br.edu.ufop.web.investments.converters.InvestmentConverter;
+import br.edu.ufop.web.investments.domain.InvestmentCursor;
 import br.edu.ufop.web.investments.domain.InvestmentDomain;
 import br.edu.ufop.web.investments.domain.usecases.CreateInvestmentUseCase;
 import br.edu.ufop.web.investments.domain.usecases.UpdateInvestmentUseCase;
+import br.edu.ufop.web.investments.dtos.InvestmentFilterDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentPageDTO;
 import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
 import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
 import br.edu.ufop.web.investments.dtos.SummaryDTO;
 import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.InvestmentChangeType;
+import br.edu.ufop.web.investments.exceptions.PreconditionFailedException;
 import br.edu.ufop.web.investments.models.Investment;
 import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.repositories.projections.AssetTypeTotal;
+import br.edu.ufop.web.investments.repositories.specifications.InvestmentSpecifications;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService.SnapshotChanges;
+import br.edu.ufop.web.investments.services.outbox.OutboxService;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
 
+// Tempo de cada método em investments.service (tag method), com percentis configurados em application.properties
+@Timed("investments.service")
 @Service
 public class InvestmentService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final Sort KEYSET_ORDER = Sort.by("purchaseDate", "id");
+
     @Autowired
     private InvestmentRepository investmentRepository;
 
     @Autowired
     private InvestmentConverter investmentConverter;
 
+    @Autowired
+    private PortfolioSnapshotService snapshotService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PositionRollupService positionRollupService;
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @Autowired
+    private InvestmentCacheInvalidator investmentCacheInvalidator;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     @Transactional
     public InvestmentResponseDTO createInvestment(InvestmentRequestDTO requestDto) {
         InvestmentDomain investmentDomain = investmentConverter.toDomain(requestDto);
         new CreateInvestmentUseCase(investmentDomain).validate();
         Investment investmentModel = investmentConverter.toModel(investmentDomain);
         Investment savedInvestment = investmentRepository.save(investmentModel);
+        SnapshotChanges snapshotChanges = new SnapshotChanges().added(savedInvestment);
+        snapshotService.recordChanges(snapshotChanges);
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        outboxService.append(InvestmentChangeType.CREATED, List.of(savedInvestment.getId()));
+        investmentCacheInvalidator.evictAfterCommit(List.of(savedInvestment.getId()));
         return investmentConverter.toResponseDto(savedInvestment);
     }
 
+    // expectedVersion (do If-Match) é opcional; sem ele, a versão lida aqui ainda impede que uma gravação
+    // concorrente seja sobrescrita em silêncio (ObjectOptimisticLockingFailureException no flush)
     @Transactional
-    public InvestmentResponseDTO updateInvestment(UUID id, InvestmentRequestDTO requestDto) { // Change Long to UUID
+    public InvestmentResponseDTO updateInvestment(UUID id, InvestmentRequestDTO requestDto, Long expectedVersion) { // Change Long to UUID
         Investment existingInvestment = investmentRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Investimento com ID " + id + " não encontrado."));
+        if (expectedVersion != null && !expectedVersion.equals(existingInvestment.getVersion())) {
+            throw new PreconditionFailedException("O investimento " + id + " está na versão " + existingInvestment.getVersion()
+                    + ", não na versão " + expectedVersion + " informada em If-Match.");
+        }
 
         InvestmentDomain investmentDomain = investmentConverter.toDomain(requestDto);
         investmentDomain.setId(id);
 
         new UpdateInvestmentUseCase(investmentDomain).validate();
         
+        SnapshotChanges snapshotChanges = new SnapshotChanges().removed(existingInvestment);
         investmentConverter.updateModelFromDomain(existingInvestment, investmentDomain);
         
-        Investment updatedInvestment = investmentRepository.save(existingInvestment);
+        // Flush aqui para a resposta já levar a versão nova (e o conflito, se houver, sair deste método)
+        Investment updatedInvestment = investmentRepository.saveAndFlush(existingInvestment);
+        snapshotService.recordChanges(snapshotChanges.added(updatedInvestment));
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        outboxService.append(InvestmentChangeType.UPDATED, List.of(id));
+        investmentCacheInvalidator.evictAfterCommit(List.of(id));
         return investmentConverter.toResponseDto(updatedInvestment);
     }
     
     @Transactional(readOnly = true)
-    public List<InvestmentResponseDTO> getAllInvestments(String type) {
-        List<Investment> investments;
-        if (type != null && !type.isBlank()) {
-            try {
-                AssetType assetType = AssetType.valueOf(type.toUpperCase());
-                investments = investmentRepository.findByType(assetType);
-            } catch (IllegalArgumentException e) {
-                throw new IllegalArgumentException("Tipo de ativo inválido: " + type);
-            }
-        } else {
-            investments = investmentRepository.findAll();
-        }
+    public List<InvestmentResponseDTO> getAllInvestments(InvestmentFilterDTO filter) {
+        List<Investment> investments = investmentRepository.findAll(toSpecification(filter));
         return investmentConverter.toResponseDtoList(investments);
     }
 
+    @Transactional(readOnly = true)
+    public InvestmentPageDTO getInvestmentsPage(InvestmentFilterDTO filter, String after, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_PAGE_SIZE + ".");
+        }
+        InvestmentCursor cursor = after == null || after.isBlank() ? null : InvestmentCursor.decode(after);
+        Specification<Investment> specification = toSpecification(filter).and(InvestmentSpecifications.after(cursor));
+
+        // Busca um registro a mais para saber se existe próxima página
+        List<Investment> investments = investmentRepository.findBy(specification,
+                query -> query.sortBy(KEYSET_ORDER).limit(limit + 1).all());
+
+        String nextCursor = null;
+        if (investments.size() > limit) {
+            investments = investments.subList(0, limit);
+            Investment last = investments.get(limit - 1);
+            nextCursor = new InvestmentCursor(last.getPurchaseDate(), last.getId()).encode();
+        }
+        return new InvestmentPageDTO(investmentConverter.toResponseDtoList(investments), nextCursor);
+    }
+
+    // Percorre os investimentos com um cursor do banco, sem manter a lista inteira em memória
+    @Transactional(readOnly = true)
+    public void streamInvestments(InvestmentFilterDTO filter, Consumer<InvestmentResponseDTO> consumer) {
+        try (Stream<Investment> investments = investmentRepository.stream(toSpecification(filter), KEYSET_ORDER)) {
+            investments.forEach(investment -> {
+                consumer.accept(investmentConverter.toResponseDto(investment));
+                entityManager.detach(investment);
+            });
+        }
+    }
+
+    @Cacheable(cacheNames = INVESTMENTS_CACHE, key = PORTFOLIO_ID_KEY)
     @Transactional(readOnly = true)
     public InvestmentResponseDTO getInvestmentById(UUID id) { // Change Long to UUID
         Investment investment = investmentRepository.findById(id)
@@ -81,31 +168,59 @@ public class InvestmentService {
 
     @Transactional
     public void deleteInvestment(UUID id) { // Change Long to UUID
-        if (!investmentRepository.existsById(id)) {
-            throw new EntityNotFoundException("Investimento com ID " + id + " não encontrado.");
-        }
-        investmentRepository.deleteById(id);
+        Investment investment = investmentRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Investimento com ID " + id + " não encontrado."));
+        investmentRepository.delete(investment);
+        SnapshotChanges snapshotChanges = new SnapshotChanges().removed(investment);
+        snapshotService.recordChanges(snapshotChanges);
+        positionRollupService.recordChanges(snapshotChanges);
+        ledgerService.mirrorLots(snapshotChanges);
+        outboxService.append(InvestmentChangeType.DELETED, List.of(id));
+        investmentCacheInvalidator.evictAfterCommit(List.of(id));
     }
     
+    // Resumo da carteira corrente (a consulta é filtrada pela carteira como todas as demais)
+    @Cacheable(cacheNames = SUMMARY_CACHE, key = PORTFOLIO_KEY)
     @Transactional(readOnly = true)
     public SummaryDTO getSummary() {
-        List<Investment> investments = investmentRepository.findAll();
-        
-        BigDecimal totalInvested = investments.stream()
-                .map(inv -> inv.getPurchasePrice().multiply(BigDecimal.valueOf(inv.getQuantity())))
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        List<AssetTypeTotal> totals = investmentRepository.sumTotalsByType();
 
-        Map<String, BigDecimal> totalByType = investments.stream()
-                .collect(Collectors.groupingBy(
-                        inv -> inv.getType().name(),
-                        Collectors.mapping(
-                                inv -> inv.getPurchasePrice().multiply(BigDecimal.valueOf(inv.getQuantity())),
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add)
-                        )
-                ));
+        BigDecimal totalInvested = BigDecimal.ZERO;
+        Map<String, BigDecimal> totalByType = new HashMap<>();
+        long assetCount = 0;
 
-        long assetCount = investments.size();
+        for (AssetTypeTotal total : totals) {
+            totalInvested = totalInvested.add(total.getTotal());
+            totalByType.put(total.getType().name(), total.getTotal());
+            assetCount += total.getCount();
+        }
 
         return new SummaryDTO(totalInvested, totalByType, assetCount);
     }
+
+    // Filtros combinados em uma única consulta; os ausentes não entram no WHERE
+    private static Specification<Investment> toSpecification(InvestmentFilterDTO filter) {
+        if (filter.from() != null && filter.to() != null && filter.from().isAfter(filter.to())) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
+        }
+        if (filter.minValue() != null && filter.maxValue() != null && filter.minValue().compareTo(filter.maxValue()) > 0) {
+            throw new IllegalArgumentException("O valor mínimo não pode ser maior que o valor máximo.");
+        }
+        return Specification.allOf(
+                InvestmentSpecifications.hasType(parseAssetType(filter.type())),
+                InvestmentSpecifications.symbolStartsWith(filter.symbol()),
+                InvestmentSpecifications.purchasedBetween(filter.from(), filter.to()),
+                InvestmentSpecifications.valueBetween(filter.minValue(), filter.maxValue()));
+    }
+
+    static AssetType parseAssetType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        try {
+            return AssetType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de ativo inválido: " + type);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,382 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.domain.CostBasisCalculator;
+import br.edu.ufop.web.investments.domain.CostBasisCalculator.OpenLot;
+import br.edu.ufop.web.investments.dtos.LedgerDTO;
+import br.edu.ufop.web.investments.dtos.LedgerPositionDTO;
+import br.edu.ufop.web.investments.dtos.TransactionRequestDTO;
+import br.edu.ufop.web.investments.dtos.TransactionResponseDTO;
+import br.edu.ufop.web.investments.enums.CostMethod;
+import br.edu.ufop.web.investments.enums.TransactionSide;
+import br.edu.ufop.web.investments.models.LedgerPosition;
+import br.edu.ufop.web.investments.models.LedgerTransaction;
+import br.edu.ufop.web.investments.models.PositionState;
+import br.edu.ufop.web.investments.repositories.LedgerPositionRepository;
+import br.edu.ufop.web.investments.repositories.LedgerTransactionRepository;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService.SnapshotChanges;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService.SnapshotChanges.LotChange;
+import br.edu.ufop.web.investments.services.prices.PriceBook;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.PersistenceContext;
+
+// Livro de transações por símbolo, em cada carteira. As compras espelham os lotes de Investment
+// (mantidas por mirrorLots, na mesma transação que grava os lotes); as vendas são registradas aqui.
+// Uma transação no fim do histórico só aplica a posição corrente do símbolo (LedgerPosition);
+// uma transação retroativa, alterada ou excluída recalcula o símbolo a partir da data afetada.
+@Service
+public class LedgerService {
+
+    private static final int MONEY_SCALE = 2;
+    private static final Comparator<LedgerTransaction> LEDGER_ORDER = Comparator
+            .comparing(LedgerTransaction::getTradeDate)
+            .thenComparing(LedgerTransaction::getSequence);
+
+    @Autowired
+    private LedgerTransactionRepository transactionRepository;
+
+    @Autowired
+    private LedgerPositionRepository positionRepository;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Chamado pelos serviços de investimentos logo depois de gravar os lotes
+    @Transactional
+    public void mirrorLots(SnapshotChanges changes) {
+        List<LotChange> removedLots = changes.removedLots();
+        List<LotChange> addedLots = changes.addedLots();
+        if (removedLots.isEmpty() && addedLots.isEmpty()) {
+            return;
+        }
+
+        Map<String, LocalDate> replayFrom = new HashMap<>();
+        for (LotChange lot : removedLots) {
+            replayFrom.merge(lot.symbol(), lot.date(), LedgerService::earliest);
+        }
+        Map<String, List<LotChange>> addedBySymbol = new HashMap<>();
+        for (LotChange lot : addedLots) {
+            addedBySymbol.computeIfAbsent(lot.symbol(), symbol -> new ArrayList<>()).add(lot);
+        }
+        Set<String> symbols = new TreeSet<>(addedBySymbol.keySet());
+        symbols.addAll(replayFrom.keySet());
+        Map<String, LedgerPosition> positions = lockPositions(symbols);
+
+        if (!removedLots.isEmpty()) {
+            transactionRepository.deleteByInvestmentIds(removedLots.stream().map(LotChange::investmentId).toList());
+        }
+
+        for (String symbol : symbols) {
+            LedgerPosition position = positions.get(symbol);
+            List<LotChange> lots = addedBySymbol.getOrDefault(symbol, new ArrayList<>());
+            lots.sort(Comparator.comparing(LotChange::date));
+
+            List<LedgerTransaction> buys = new ArrayList<>(lots.size());
+            for (LotChange lot : lots) {
+                if (position.getType() == null) {
+                    position.setType(lot.type());
+                }
+                buys.add(LedgerTransaction.builder()
+                        .symbol(lot.symbol())
+                        .type(lot.type())
+                        .side(TransactionSide.BUY)
+                        .quantity(lot.quantity())
+                        .price(lot.price())
+                        .tradeDate(lot.date())
+                        .sequence(nextSequence(position))
+                        .investmentId(lot.investmentId())
+                        .build());
+            }
+
+            LocalDate from = replayFrom.get(symbol);
+            if (!buys.isEmpty() && isBackDated(position, buys.get(0).getTradeDate())) {
+                from = earliest(from, buys.get(0).getTradeDate());
+            }
+            if (from != null) {
+                replay(position, from, buys);
+            } else {
+                append(position, buys);
+            }
+        }
+    }
+
+    @Transactional
+    public TransactionResponseDTO createTransaction(TransactionRequestDTO requestDto) {
+        checkSell(requestDto.side());
+        LedgerPosition position = lockPosition(requestDto.symbol());
+        LedgerTransaction sell = LedgerTransaction.builder()
+                .symbol(position.getSymbol())
+                .type(position.getType())
+                .side(TransactionSide.SELL)
+                .quantity(requestDto.quantity())
+                .price(requestDto.price())
+                .tradeDate(requestDto.tradeDate())
+                .sequence(nextSequence(position))
+                .build();
+
+        if (isBackDated(position, sell.getTradeDate())) {
+            replay(position, sell.getTradeDate(), List.of(sell));
+        } else {
+            append(position, List.of(sell));
+        }
+        return toResponseDto(sell);
+    }
+
+    @Transactional
+    public TransactionResponseDTO updateTransaction(UUID id, TransactionRequestDTO requestDto) {
+        checkSell(requestDto.side());
+        LedgerTransaction sell = findSell(id);
+        if (!sell.getSymbol().equals(requestDto.symbol())) {
+            throw new IllegalArgumentException("O símbolo de uma venda não pode ser alterado; exclua-a e registre uma nova.");
+        }
+        LedgerPosition position = lockPosition(sell.getSymbol());
+
+        LocalDate from = earliest(sell.getTradeDate(), requestDto.tradeDate());
+        if (!sell.getTradeDate().equals(requestDto.tradeDate())) {
+            sell.setSequence(nextSequence(position)); // passa a ser a última do novo dia
+        }
+        sell.setQuantity(requestDto.quantity());
+        sell.setPrice(requestDto.price());
+        sell.setTradeDate(requestDto.tradeDate());
+
+        replay(position, from, List.of());
+        return toResponseDto(sell);
+    }
+
+    @Transactional
+    public void deleteTransaction(UUID id) {
+        LedgerTransaction sell = findSell(id);
+        LedgerPosition position = lockPosition(sell.getSymbol());
+        transactionRepository.delete(sell);
+        replay(position, sell.getTradeDate(), List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public List<TransactionResponseDTO> getTransactions(String symbol) {
+        return transactionRepository.findBySymbolOrderByTradeDateAscSequenceAsc(symbol).stream()
+                .map(this::toResponseDto)
+                .toList();
+    }
+
+    // Posições do livro pelo método de custo escolhido; a parte não realizada usa a última cotação
+    @Transactional(readOnly = true)
+    public LedgerDTO getLedger(String method) {
+        CostMethod costMethod = parseCostMethod(method);
+        List<LedgerPositionDTO> positions = new ArrayList<>();
+        BigDecimal totalCost = BigDecimal.ZERO;
+        BigDecimal totalMarket = BigDecimal.ZERO;
+        BigDecimal totalRealized = BigDecimal.ZERO;
+
+        for (LedgerPosition position : positionRepository.findAll(Sort.by("symbol"))) {
+            PositionState state = position.getState();
+            long quantity = state.getPositionQuantity();
+            BigDecimal costBasis = costMethod == CostMethod.FIFO ? state.getFifoCostBasis() : state.getAverageCostBasis();
+            BigDecimal realized = costMethod == CostMethod.FIFO ? state.getTotalRealizedFifo() : state.getTotalRealizedAverage();
+
+            BigDecimal averagePrice = null;
+            BigDecimal currentPrice = priceBook.price(position.getSymbol());
+            BigDecimal marketValue = BigDecimal.ZERO;
+            if (quantity > 0) {
+                averagePrice = costBasis.divide(BigDecimal.valueOf(quantity), MONEY_SCALE, RoundingMode.HALF_EVEN);
+                if (currentPrice == null) {
+                    currentPrice = averagePrice;
+                    marketValue = costBasis;
+                } else {
+                    marketValue = currentPrice.multiply(BigDecimal.valueOf(quantity)).setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+                }
+            }
+
+            positions.add(new LedgerPositionDTO(position.getSymbol(), position.getType(), quantity, costBasis,
+                    averagePrice, currentPrice, marketValue, marketValue.subtract(costBasis), realized));
+            totalCost = totalCost.add(costBasis);
+            totalMarket = totalMarket.add(marketValue);
+            totalRealized = totalRealized.add(realized);
+        }
+        return new LedgerDTO(costMethod, totalCost, totalMarket, totalMarket.subtract(totalCost), totalRealized, positions);
+    }
+
+    // Caminho incremental: as transações vêm depois de todo o histórico, basta partir da posição corrente
+    private void append(LedgerPosition position, List<LedgerTransaction> transactions) {
+        PositionState start = position.getState();
+        CostBasisCalculator calculator = new CostBasisCalculator(start,
+                () -> openLots(position.getSymbol(), start.getCumulativeSold(), null));
+        for (LedgerTransaction transaction : transactions) {
+            apply(calculator, transaction);
+        }
+        // Gravadas só depois: a carga dos lotes abertos não pode enxergar as compras novas
+        transactions.forEach(entityManager::persist);
+
+        position.setState(calculator.state());
+        LocalDate last = transactions.get(transactions.size() - 1).getTradeDate();
+        if (position.getLastTradeDate() == null || last.isAfter(position.getLastTradeDate())) {
+            position.setLastTradeDate(last);
+        }
+    }
+
+    // Recalcula o símbolo a partir da data, partindo do estado gravado na transação anterior a ela
+    private void replay(LedgerPosition position, LocalDate from, List<LedgerTransaction> newTransactions) {
+        String symbol = position.getSymbol();
+        Optional<LedgerTransaction> previous = transactionRepository
+                .findFirstBySymbolAndTradeDateBeforeOrderByTradeDateDescSequenceDesc(symbol, from);
+        PositionState start = previous.map(LedgerTransaction::getStateAfter).orElseGet(PositionState::empty);
+
+        List<LedgerTransaction> transactions = new ArrayList<>(transactionRepository
+                .findBySymbolAndTradeDateGreaterThanEqualOrderByTradeDateAscSequenceAsc(symbol, from));
+        transactions.addAll(newTransactions);
+        transactions.sort(LEDGER_ORDER);
+
+        CostBasisCalculator calculator = new CostBasisCalculator(start,
+                () -> openLots(symbol, start.getCumulativeSold(), from));
+        for (LedgerTransaction transaction : transactions) {
+            apply(calculator, transaction);
+        }
+        newTransactions.forEach(entityManager::persist);
+
+        if (transactions.isEmpty() && previous.isEmpty()) {
+            positionRepository.delete(position); // não restou transação do símbolo
+            return;
+        }
+        position.setState(calculator.state());
+        position.setLastTradeDate(transactions.isEmpty()
+                ? previous.get().getTradeDate()
+                : transactions.get(transactions.size() - 1).getTradeDate());
+    }
+
+    private void apply(CostBasisCalculator calculator, LedgerTransaction transaction) {
+        if (transaction.getSide() == TransactionSide.BUY) {
+            calculator.buy(transaction.getQuantity(), transaction.getPrice());
+        } else {
+            try {
+                calculator.sell(transaction.getQuantity(), transaction.getPrice());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Venda de " + transaction.getSymbol() + " em "
+                        + transaction.getTradeDate() + ": " + e.getMessage() + ".", e);
+            }
+        }
+        transaction.setRealizedFifo(calculator.lastRealizedFifo());
+        transaction.setRealizedAverage(calculator.lastRealizedAverage());
+        transaction.setStateAfter(calculator.state());
+    }
+
+    // Compras ainda abertas em FIFO depois de `sold` unidades vendidas, com o saldo de cada uma
+    private List<OpenLot> openLots(String symbol, long sold, LocalDate before) {
+        List<LedgerTransaction> buys = before == null
+                ? transactionRepository.findOpenBuys(symbol, sold)
+                : transactionRepository.findOpenBuysBefore(symbol, sold, before);
+        List<OpenLot> lots = new ArrayList<>(buys.size());
+        for (LedgerTransaction buy : buys) {
+            long remaining = Math.min(buy.getQuantity(), buy.getStateAfter().getCumulativeBought() - sold);
+            lots.add(new OpenLot(remaining, buy.getPrice()));
+        }
+        return lots;
+    }
+
+    // Trava as posições dos símbolos, criando as que ainda não existem
+    private Map<String, LedgerPosition> lockPositions(Collection<String> symbols) {
+        Map<String, LedgerPosition> positions = new HashMap<>();
+        for (LedgerPosition position : positionRepository.findBySymbolInOrderBySymbol(symbols)) {
+            positions.put(position.getSymbol(), position);
+        }
+        if (positions.size() < symbols.size()) {
+            List<String> missing = symbols.stream().filter(symbol -> !positions.containsKey(symbol)).toList();
+            String portfolio = PortfolioContext.current();
+            missing.forEach(symbol -> positionRepository.insertIfAbsent(portfolio, symbol));
+            for (LedgerPosition position : positionRepository.findBySymbolInOrderBySymbol(missing)) {
+                if (position.getState() == null) {
+                    position.setState(PositionState.empty());
+                }
+                positions.put(position.getSymbol(), position);
+            }
+        }
+        return positions;
+    }
+
+    private LedgerPosition lockPosition(String symbol) {
+        List<LedgerPosition> positions = positionRepository.findBySymbolInOrderBySymbol(List.of(symbol));
+        if (positions.isEmpty()) {
+            throw new IllegalArgumentException("Não há compras de " + symbol + " registradas para vender.");
+        }
+        return positions.get(0);
+    }
+
+    private LedgerTransaction findSell(UUID id) {
+        LedgerTransaction transaction = transactionRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Transação com ID " + id + " não encontrada."));
+        if (transaction.getSide() != TransactionSide.SELL) {
+            throw new IllegalArgumentException("Compras são alteradas pelo lote de investimento correspondente.");
+        }
+        return transaction;
+    }
+
+    private static void checkSell(TransactionSide side) {
+        if (side != TransactionSide.SELL) {
+            throw new IllegalArgumentException("Compras são registradas como lotes de investimento em POST /investments.");
+        }
+    }
+
+    private static boolean isBackDated(LedgerPosition position, LocalDate tradeDate) {
+        return position.getLastTradeDate() != null && tradeDate.isBefore(position.getLastTradeDate());
+    }
+
+    private static long nextSequence(LedgerPosition position) {
+        long sequence = position.getNextSequence();
+        position.setNextSequence(sequence + 1);
+        return sequence;
+    }
+
+    private static LocalDate earliest(LocalDate first, LocalDate second) {
+        if (first == null) {
+            return second;
+        }
+        return second.isBefore(first) ? second : first;
+    }
+
+    private static CostMethod parseCostMethod(String method) {
+        if (method == null || method.isBlank()) {
+            return CostMethod.FIFO;
+        }
+        try {
+            return CostMethod.valueOf(method.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Método de custo inválido: " + method + ". Use FIFO ou AVERAGE.");
+        }
+    }
+
+    private TransactionResponseDTO toResponseDto(LedgerTransaction transaction) {
+        return new TransactionResponseDTO(
+                transaction.getId(),
+                transaction.getSide(),
+                transaction.getType(),
+                transaction.getSymbol(),
+                transaction.getQuantity(),
+                transaction.getPrice(),
+                transaction.getTradeDate(),
+                transaction.getInvestmentId(),
+                transaction.getRealizedFifo(),
+                transaction.getRealizedAverage(),
+                transaction.getStateAfter().getPositionQuantity());
+    }
+}
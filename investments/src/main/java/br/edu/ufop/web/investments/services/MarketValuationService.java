@@ -0,0 +1,152 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.domain.SummaryAccumulator;
+import br.edu.ufop.web.investments.dtos.PositionValuationDTO;
+import br.edu.ufop.web.investments.dtos.QuoteDTO;
+import br.edu.ufop.web.investments.dtos.TypeValuationDTO;
+import br.edu.ufop.web.investments.dtos.ValuationDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.Investment;
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.services.prices.PriceBook;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Marcação a mercado: valoriza cada lote pela última cotação do PriceBook
+@Service
+public class MarketValuationService {
+
+    private static final int MONEY_SCALE = 2;
+    private static final int MAX_CENTS_DIGITS = 18; // cabe num long
+    private static final long SCALED_PER_CENT = 1_000_000L; // escala 8 do PriceBook -> centavos
+    private static final long OVERFLOW = Long.MIN_VALUE;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Transactional(readOnly = true)
+    public ValuationDTO getValuation() {
+        SummaryAccumulator costByType = new SummaryAccumulator();
+        SummaryAccumulator marketByType = new SummaryAccumulator();
+        List<PositionValuationDTO> positions = new ArrayList<>();
+
+        // A lista de posições é a própria resposta (uma por lote); os totais não criam objetos por lote
+        try (Stream<Investment> investments = investmentRepository.streamByType(null)) {
+            investments.forEach(investment -> {
+                positions.add(valuePosition(investment, costByType, marketByType));
+                entityManager.detach(investment);
+            });
+        }
+
+        BigDecimal costBasis = BigDecimal.ZERO;
+        BigDecimal marketValue = BigDecimal.ZERO;
+        Map<String, TypeValuationDTO> byType = new LinkedHashMap<>();
+        for (AssetType type : AssetType.values()) {
+            BigDecimal typeCost = costByType.total(type);
+            if (typeCost != null) {
+                BigDecimal typeMarket = marketByType.total(type);
+                byType.put(type.name(), new TypeValuationDTO(typeCost, typeMarket, typeMarket.subtract(typeCost)));
+                costBasis = costBasis.add(typeCost);
+                marketValue = marketValue.add(typeMarket);
+            }
+        }
+        return new ValuationDTO(costBasis, marketValue, marketValue.subtract(costBasis), byType, positions);
+    }
+
+    public List<QuoteDTO> getQuotes() {
+        List<QuoteDTO> quotes = new ArrayList<>(priceBook.size());
+        for (int id = 0; id < priceBook.size(); id++) {
+            long scaledPrice = priceBook.scaledPrice(id);
+            if (scaledPrice > 0) {
+                quotes.add(new QuoteDTO(priceBook.symbol(id), PriceBook.toPrice(scaledPrice),
+                        Instant.ofEpochMilli(priceBook.updatedAt(id))));
+            }
+        }
+        return quotes;
+    }
+
+    // Valoriza o lote e soma custo e valor de mercado aos totais do tipo. Caminho comum em long: preço de compra
+    // em centavos e cotação do PriceBook (escala 8) vezes a quantidade, com o valor de mercado arredondado para
+    // centavos (HALF_EVEN) na divisão; só os campos da resposta viram BigDecimal. Preço com outra escala ou
+    // produto que não cabe no long segue pela conta exata em BigDecimal, com o mesmo resultado.
+    private PositionValuationDTO valuePosition(Investment investment, SummaryAccumulator costByType,
+            SummaryAccumulator marketByType) {
+        AssetType type = investment.getType();
+        int quantity = investment.getQuantity();
+        BigDecimal purchasePrice = investment.getPurchasePrice();
+        int id = priceBook.idOf(investment.getSymbol());
+        long scaledPrice = id == PriceBook.NO_SYMBOL ? 0 : priceBook.scaledPrice(id);
+
+        if (purchasePrice.scale() == MONEY_SCALE && purchasePrice.precision() <= MAX_CENTS_DIGITS) {
+            long purchaseCents = purchasePrice.movePointRight(MONEY_SCALE).longValueExact();
+            long high = Math.multiplyHigh(purchaseCents, quantity);
+            long costCents = purchaseCents * quantity;
+            boolean costFits = (high == 0 && costCents >= 0) || (high == -1 && costCents < 0);
+            long marketCents = scaledPrice == 0 ? costCents : marketCents(scaledPrice, quantity);
+            if (costFits && marketCents != OVERFLOW) {
+                costByType.addCents(type, costCents);
+                marketByType.addCents(type, marketCents);
+                return toPosition(investment, scaledPrice == 0 ? purchasePrice : PriceBook.toPrice(scaledPrice),
+                        BigDecimal.valueOf(costCents, MONEY_SCALE), BigDecimal.valueOf(marketCents, MONEY_SCALE),
+                        BigDecimal.valueOf(marketCents - costCents, MONEY_SCALE));
+            }
+        }
+
+        BigDecimal quantityValue = BigDecimal.valueOf(quantity);
+        BigDecimal currentPrice = scaledPrice == 0 ? purchasePrice : PriceBook.toPrice(scaledPrice);
+        BigDecimal costBasis = purchasePrice.multiply(quantityValue);
+        BigDecimal marketValue = currentPrice.multiply(quantityValue).setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+        costByType.add(type, purchasePrice, quantity);
+        marketByType.add(type, marketValue);
+        return toPosition(investment, currentPrice, costBasis, marketValue, marketValue.subtract(costBasis));
+    }
+
+    // Cotação (escala 8) vezes a quantidade, em centavos arredondados HALF_EVEN; OVERFLOW se não couber no long
+    private static long marketCents(long scaledPrice, int quantity) {
+        long high = Math.multiplyHigh(scaledPrice, quantity);
+        long product = scaledPrice * quantity;
+        if (high != 0 || product < 0) {
+            return OVERFLOW;
+        }
+        long cents = product / SCALED_PER_CENT;
+        long remainder = product % SCALED_PER_CENT;
+        if (remainder > SCALED_PER_CENT / 2 || remainder == SCALED_PER_CENT / 2 && (cents & 1) == 1) {
+            cents++;
+        }
+        return cents;
+    }
+
+    private static PositionValuationDTO toPosition(Investment investment, BigDecimal currentPrice, BigDecimal costBasis,
+            BigDecimal marketValue, BigDecimal profitLoss) {
+        return new PositionValuationDTO(
+                investment.getId(),
+                investment.getType(),
+                investment.getSymbol(),
+                investment.getQuantity(),
+                investment.getPurchasePrice(),
+                investment.getPurchaseDate(),
+                currentPrice,
+                costBasis,
+                marketValue,
+                profitLoss);
+    }
+}
@@ -0,0 +1,139 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.domain.AnalyticsAccumulator;
+import br.edu.ufop.web.investments.domain.AnalyticsTask;
+import br.edu.ufop.web.investments.domain.SymbolPosition;
+import br.edu.ufop.web.investments.dtos.AllocationDTO;
+import br.edu.ufop.web.investments.dtos.AnalyticsDTO;
+import br.edu.ufop.web.investments.dtos.ConcentrationDTO;
+import br.edu.ufop.web.investments.dtos.HoldingPeriodDTO;
+import br.edu.ufop.web.investments.dtos.SymbolAnalyticsDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.repositories.projections.InvestmentLot;
+
+// Análises da carteira: alocação por tipo e por símbolo, custo médio, concentração e tempo de carteira.
+// Os lotes são particionados por símbolo e consolidados em paralelo no pool de análises;
+// carteiras com até `parallel-threshold` lotes são calculadas na própria thread da requisição.
+@Service
+public class PortfolioAnalyticsService {
+
+    private static final int MONEY_SCALE = 2;
+    private static final int DEFAULT_TOP_N = 10;
+    private static final int MAX_TOP_N = 100;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private ForkJoinPool analyticsPool;
+
+    @Value("${investments.analytics.parallel-threshold:10000}")
+    private int parallelThreshold;
+
+    @Transactional(readOnly = true)
+    public AnalyticsDTO getAnalytics(Integer topN) {
+        int top = topN != null ? topN : DEFAULT_TOP_N;
+        if (top < 1 || top > MAX_TOP_N) {
+            throw new IllegalArgumentException("O parâmetro topN deve estar entre 1 e " + MAX_TOP_N + ".");
+        }
+
+        List<InvestmentLot> lots = investmentRepository.findAllLotsOrderBySymbol();
+        AnalyticsTask task = new AnalyticsTask(lots, parallelThreshold, LocalDate.now().toEpochDay());
+        AnalyticsAccumulator result = lots.size() > parallelThreshold ? analyticsPool.invoke(task) : task.invoke();
+
+        BigDecimal totalInvested = result.totalInvested();
+        Map<String, AllocationDTO> allocationByType = new LinkedHashMap<>();
+        for (AssetType type : AssetType.values()) {
+            BigDecimal typeCost = result.costByType().total(type);
+            if (typeCost != null) {
+                allocationByType.put(type.name(), new AllocationDTO(typeCost, percentage(typeCost, totalInvested)));
+            }
+        }
+
+        List<SymbolPosition> positions = new ArrayList<>(result.positions());
+        positions.sort(Comparator.comparing(SymbolPosition::costBasis).reversed()
+                .thenComparing(SymbolPosition::symbol));
+
+        List<SymbolAnalyticsDTO> symbols = new ArrayList<>(positions.size());
+        for (SymbolPosition position : positions) {
+            symbols.add(new SymbolAnalyticsDTO(
+                    position.symbol(),
+                    position.type(),
+                    position.lots(),
+                    position.quantity(),
+                    position.costBasis(),
+                    position.quantity() == 0
+                            ? BigDecimal.ZERO
+                            : position.costBasis().divide(BigDecimal.valueOf(position.quantity()), MONEY_SCALE, RoundingMode.HALF_EVEN),
+                    percentage(position.costBasis(), totalInvested)));
+        }
+
+        return new AnalyticsDTO(
+                totalInvested,
+                result.lots(),
+                positions.size(),
+                allocationByType,
+                symbols,
+                concentration(positions, totalInvested, top),
+                new HoldingPeriodDTO(
+                        result.minHoldingDays(),
+                        result.maxHoldingDays(),
+                        round(result.averageHoldingDays()),
+                        round(result.costWeightedAverageHoldingDays())));
+    }
+
+    // Posições já ordenadas por custo decrescente
+    private ConcentrationDTO concentration(List<SymbolPosition> positions, BigDecimal totalInvested, int topN) {
+        List<String> topSymbols = new ArrayList<>(Math.min(topN, positions.size()));
+        BigDecimal topCost = BigDecimal.ZERO;
+        double total = totalInvested.doubleValue();
+        double hhi = 0;
+
+        for (int i = 0; i < positions.size(); i++) {
+            SymbolPosition position = positions.get(i);
+            if (i < topN) {
+                topSymbols.add(position.symbol());
+                topCost = topCost.add(position.costBasis());
+            }
+            if (total > 0) {
+                double share = position.costBasis().doubleValue() / total * 100;
+                hhi += share * share;
+            }
+        }
+
+        return new ConcentrationDTO(
+                topN,
+                topSymbols,
+                percentage(topCost, totalInvested),
+                round(hhi),
+                hhi == 0 ? BigDecimal.ZERO : round(10_000 / hhi));
+    }
+
+    private BigDecimal percentage(BigDecimal part, BigDecimal total) {
+        if (total.signum() == 0) {
+            return BigDecimal.ZERO.setScale(MONEY_SCALE);
+        }
+        return part.multiply(HUNDRED).divide(total, MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    private BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+}
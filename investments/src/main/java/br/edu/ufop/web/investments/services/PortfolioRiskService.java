@@ -0,0 +1,192 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.config.RiskProperties;
+import br.edu.ufop.web.investments.config.RiskProperties.TypeParameters;
+import br.edu.ufop.web.investments.domain.LossDistribution;
+import br.edu.ufop.web.investments.domain.RiskModel;
+import br.edu.ufop.web.investments.domain.RiskScenarioTask;
+import br.edu.ufop.web.investments.dtos.LossBucketDTO;
+import br.edu.ufop.web.investments.dtos.RiskDTO;
+import br.edu.ufop.web.investments.dtos.RiskMeasureDTO;
+import br.edu.ufop.web.investments.dtos.TypeRiskDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.PositionRollup;
+import br.edu.ufop.web.investments.repositories.PositionRollupRepository;
+import br.edu.ufop.web.investments.services.prices.PriceBook;
+
+// Risco de mercado da carteira por simulação de Monte Carlo: as posições (PositionRollup) são marcadas
+// pela última cotação e reavaliadas em cada cenário de retornos correlacionados; VaR e expected shortfall
+// saem das perdas ordenadas. Os cenários são simulados em pedaços no pool de análises, cada pedaço com
+// seu gerador, então o resultado é o mesmo para uma semente qualquer que seja o número de threads.
+@Service
+public class PortfolioRiskService {
+
+    private static final int MONEY_SCALE = 2;
+    private static final double TRADING_DAYS = 252;
+
+    @Autowired
+    private PositionRollupRepository rollupRepository;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @Autowired
+    private ForkJoinPool analyticsPool;
+
+    @Autowired
+    private RiskProperties riskProperties;
+
+    @Transactional(readOnly = true)
+    public RiskDTO getRisk(Integer scenarios, Long seed) {
+        int scenarioCount = scenarios != null ? scenarios : riskProperties.getScenarios();
+        if (scenarioCount < 1 || scenarioCount > riskProperties.getMaxScenarios()) {
+            throw new IllegalArgumentException(
+                    "O parâmetro scenarios deve estar entre 1 e " + riskProperties.getMaxScenarios() + ".");
+        }
+        long randomSeed = seed != null ? seed : riskProperties.getSeed();
+        int horizonDays = riskProperties.getHorizonDays();
+
+        List<PositionRollup> rollups = rollupRepository.findAllByOrderBySymbolAscTypeAsc();
+        RiskModel model = buildModel(rollups, horizonDays / TRADING_DAYS);
+
+        AssetType[] types = AssetType.values();
+        BigDecimal[] valueByType = new BigDecimal[types.length];
+        BigDecimal marketValue = BigDecimal.ZERO;
+        for (int i = 0; i < model.positions(); i++) {
+            BigDecimal value = BigDecimal.valueOf(model.values()[i]);
+            int t = model.typeIndex()[i];
+            valueByType[t] = valueByType[t] == null ? value : valueByType[t].add(value);
+            marketValue = marketValue.add(value);
+        }
+        if (model.positions() == 0) {
+            return new RiskDTO(BigDecimal.ZERO.setScale(MONEY_SCALE), scenarioCount, randomSeed, horizonDays,
+                    BigDecimal.ZERO.setScale(MONEY_SCALE), BigDecimal.ZERO.setScale(MONEY_SCALE),
+                    List.of(), Map.of(), List.of());
+        }
+
+        double[] losses = new double[scenarioCount];
+        double[][] lossesByType = new double[types.length][scenarioCount];
+        analyticsPool.invoke(new RiskScenarioTask(model, riskProperties.getChunkSize(), randomSeed, losses, lossesByType));
+        sortAll(losses, lossesByType, valueByType);
+
+        Map<String, TypeRiskDTO> byType = new LinkedHashMap<>();
+        for (AssetType type : types) {
+            if (valueByType[type.ordinal()] != null) {
+                double[] typeLosses = lossesByType[type.ordinal()];
+                byType.put(type.name(), new TypeRiskDTO(
+                        valueByType[type.ordinal()].setScale(MONEY_SCALE, RoundingMode.HALF_EVEN),
+                        money(LossDistribution.mean(typeLosses)),
+                        measures(typeLosses)));
+            }
+        }
+
+        return new RiskDTO(
+                marketValue.setScale(MONEY_SCALE, RoundingMode.HALF_EVEN),
+                scenarioCount,
+                randomSeed,
+                horizonDays,
+                money(LossDistribution.mean(losses)),
+                money(losses[losses.length - 1]),
+                measures(losses),
+                byType,
+                distribution(losses));
+    }
+
+    private RiskModel buildModel(List<PositionRollup> rollups, double horizonYears) {
+        int size = rollups.size();
+        double[] values = new double[size];
+        int[] typeIndex = new int[size];
+        double[] drift = new double[size];
+        double[] typeLoading = new double[size];
+        double[] ownLoading = new double[size];
+
+        double sqrtHorizon = Math.sqrt(horizonYears);
+        for (int i = 0; i < size; i++) {
+            PositionRollup rollup = rollups.get(i);
+            BigDecimal price = priceBook.price(rollup.getSymbol());
+            values[i] = (price != null ? price : rollup.getAveragePrice()).doubleValue() * rollup.getTotalQuantity();
+            typeIndex[i] = rollup.getType().ordinal();
+
+            TypeParameters parameters = riskProperties.parameters(rollup.getType());
+            double sigma = parameters.getVolatility() * sqrtHorizon;
+            double correlation = clampCorrelation(parameters.getTypeCorrelation());
+            drift[i] = (parameters.getDrift() - parameters.getVolatility() * parameters.getVolatility() / 2) * horizonYears;
+            typeLoading[i] = sigma * correlation;
+            ownLoading[i] = sigma * Math.sqrt(1 - correlation * correlation);
+        }
+
+        AssetType[] types = AssetType.values();
+        double[] marketLoading = new double[types.length];
+        double[] typeNoise = new double[types.length];
+        for (AssetType type : types) {
+            double correlation = clampCorrelation(riskProperties.parameters(type).getMarketCorrelation());
+            marketLoading[type.ordinal()] = correlation;
+            typeNoise[type.ordinal()] = Math.sqrt(1 - correlation * correlation);
+        }
+        return new RiskModel(values, typeIndex, drift, typeLoading, ownLoading, marketLoading, typeNoise);
+    }
+
+    private static double clampCorrelation(double correlation) {
+        return Math.max(-1, Math.min(1, correlation));
+    }
+
+    // Cada array é ordenado numa tarefa do pool de análises
+    private void sortAll(double[] losses, double[][] lossesByType, BigDecimal[] valueByType) {
+        List<Callable<Void>> sorts = new ArrayList<>();
+        sorts.add(sortTask(losses));
+        for (int t = 0; t < lossesByType.length; t++) {
+            if (valueByType[t] != null) {
+                sorts.add(sortTask(lossesByType[t]));
+            }
+        }
+        analyticsPool.invokeAll(sorts);
+    }
+
+    private static Callable<Void> sortTask(double[] values) {
+        return () -> {
+            Arrays.sort(values);
+            return null;
+        };
+    }
+
+    private List<RiskMeasureDTO> measures(double[] sortedLosses) {
+        List<RiskMeasureDTO> measures = new ArrayList<>(riskProperties.getConfidenceLevels().size());
+        for (double confidence : riskProperties.getConfidenceLevels()) {
+            measures.add(new RiskMeasureDTO(
+                    confidence,
+                    money(LossDistribution.valueAtRisk(sortedLosses, confidence)),
+                    money(LossDistribution.expectedShortfall(sortedLosses, confidence))));
+        }
+        return measures;
+    }
+
+    private List<LossBucketDTO> distribution(double[] sortedLosses) {
+        int buckets = Math.max(1, riskProperties.getHistogramBuckets());
+        long[] counts = LossDistribution.histogram(sortedLosses, buckets);
+        double min = sortedLosses[0];
+        double width = (sortedLosses[sortedLosses.length - 1] - min) / buckets;
+        List<LossBucketDTO> distribution = new ArrayList<>(buckets);
+        for (int b = 0; b < buckets; b++) {
+            distribution.add(new LossBucketDTO(money(min + b * width), money(min + (b + 1) * width), counts[b]));
+        }
+        return distribution;
+    }
+
+    private static BigDecimal money(double value) {
+        return BigDecimal.valueOf(value).setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+    }
+}
@@ -0,0 +1,143 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.dtos.EvolutionDataDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.Granularity;
+import br.edu.ufop.web.investments.models.Investment;
+import br.edu.ufop.web.investments.models.PortfolioDailySnapshot;
+import br.edu.ufop.web.investments.repositories.PortfolioDailySnapshotRepository;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+@Service
+public class PortfolioSnapshotService {
+
+    @Autowired
+    private PortfolioDailySnapshotRepository snapshotRepository;
+
+    // Aplica as variações na mesma transação da escrita dos investimentos (um upsert por data, na carteira corrente)
+    @Transactional
+    public void recordChanges(SnapshotChanges changes) {
+        String portfolio = PortfolioContext.current();
+        changes.byDate.forEach((date, change) -> {
+            if (change.amount.signum() != 0 || change.count != 0) {
+                snapshotRepository.addChange(portfolio, date, change.amount, change.count);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<EvolutionDataDTO> getEvolution(LocalDate from, LocalDate to, String granularity) {
+        Granularity bucketGranularity = parseGranularity(granularity);
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : snapshotRepository.findFirstSnapshotDate().orElse(end);
+        if (start.isAfter(end)) {
+            throw new IllegalArgumentException("A data inicial não pode ser posterior à data final.");
+        }
+
+        // Valor acumulado antes do intervalo + varredura das linhas diárias dentro dele
+        BigDecimal total = snapshotRepository.sumInvestedBefore(start);
+        List<EvolutionDataDTO> evolution = new ArrayList<>();
+        evolution.add(new EvolutionDataDTO(bucketStart(start, bucketGranularity), total));
+
+        for (PortfolioDailySnapshot snapshot : snapshotRepository.findBySnapshotDateBetweenOrderBySnapshotDate(start, end)) {
+            total = total.add(snapshot.getInvestedAmount());
+            LocalDate bucket = bucketStart(snapshot.getSnapshotDate(), bucketGranularity);
+            EvolutionDataDTO last = evolution.get(evolution.size() - 1);
+            if (last.date().equals(bucket)) {
+                evolution.set(evolution.size() - 1, new EvolutionDataDTO(bucket, total));
+            } else {
+                evolution.add(new EvolutionDataDTO(bucket, total));
+            }
+        }
+        return evolution;
+    }
+
+    private LocalDate bucketStart(LocalDate date, Granularity granularity) {
+        return switch (granularity) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+        };
+    }
+
+    private Granularity parseGranularity(String granularity) {
+        if (granularity == null || granularity.isBlank()) {
+            return Granularity.DAY;
+        }
+        try {
+            return Granularity.valueOf(granularity.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Granularidade inválida: " + granularity);
+        }
+    }
+
+    // Acumula as variações de uma operação (ou de um lote) agrupadas por data de compra
+    // Lotes que entraram e saíram numa transação: alimenta as linhas diárias e o livro de transações
+    public static class SnapshotChanges {
+
+        private final Map<LocalDate, DailyChange> byDate = new TreeMap<>();
+        private final List<LotChange> addedLots = new ArrayList<>();
+        private final List<LotChange> removedLots = new ArrayList<>();
+
+        public SnapshotChanges added(Investment investment) {
+            addedLots.add(LotChange.of(investment));
+            return apply(investment, 1);
+        }
+
+        public SnapshotChanges removed(Investment investment) {
+            removedLots.add(LotChange.of(investment));
+            return apply(investment, -1);
+        }
+
+        public List<LotChange> addedLots() {
+            return addedLots;
+        }
+
+        public List<LotChange> removedLots() {
+            return removedLots;
+        }
+
+        private SnapshotChanges apply(Investment investment, int sign) {
+            BigDecimal cost = investment.getPurchasePrice().multiply(BigDecimal.valueOf(investment.getQuantity()));
+            DailyChange change = byDate.computeIfAbsent(investment.getPurchaseDate(), date -> new DailyChange());
+            change.amount = sign > 0 ? change.amount.add(cost) : change.amount.subtract(cost);
+            change.count += sign;
+            return this;
+        }
+
+        private static class DailyChange {
+            private BigDecimal amount = BigDecimal.ZERO;
+            private long count;
+        }
+
+        // Cópia dos campos do lote no momento da alteração (a entidade pode mudar depois)
+        public record LotChange(
+            UUID investmentId,
+            AssetType type,
+            String symbol,
+            int quantity,
+            BigDecimal price,
+            LocalDate date
+        ) {
+
+            static LotChange of(Investment investment) {
+                return new LotChange(investment.getId(), investment.getType(), investment.getSymbol(),
+                        investment.getQuantity(), investment.getPurchasePrice(), investment.getPurchaseDate());
+            }
+        }
+    }
+}
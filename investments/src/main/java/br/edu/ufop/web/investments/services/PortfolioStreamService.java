@@ -0,0 +1,249 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.edu.ufop.web.investments.dtos.PositionValueDTO;
+import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.repositories.projections.SymbolHolding;
+import br.edu.ufop.web.investments.services.prices.PriceBook;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import reactor.core.publisher.Flux;
+
+// Atualizações da carteira por Server-Sent Events.
+// Um único publicador calcula as mudanças a cada intervalo (cotações que mudaram e, após escritas,
+// resumo e posições) para cada carteira com clientes conectados e as deposita na fila de cada cliente
+// dela. A fila é conflacionada: guarda no máximo um valor por símbolo e um resumo, então um cliente
+// lento nunca acumula mais que isso.
+@Service
+public class PortfolioStreamService {
+
+    private static final int MONEY_SCALE = 2;
+    private static final Duration HEARTBEAT = Duration.ofSeconds(15);
+
+    @Autowired
+    private InvestmentService investmentService;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @Value("${investments.stream.interval-ms:1000}")
+    private long intervalMs;
+
+    private final Map<String, PortfolioFeed> feeds = new ConcurrentHashMap<>();
+    private long lastPriceScan;
+
+    // Na carteira da requisição
+    public Flux<ServerSentEvent<Object>> subscribe() {
+        String portfolio = PortfolioContext.current();
+        ClientQueue client = new ClientQueue();
+        client.offer(investmentService.getSummary(), value(loadHoldings()));
+        // compute, e não computeIfAbsent + add: a carteira pode estar sendo removida pelo último cliente saindo
+        feeds.compute(portfolio, (key, feed) -> {
+            PortfolioFeed target = feed != null ? feed : new PortfolioFeed(key);
+            target.clients.add(client);
+            return target;
+        });
+
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(intervalMs))
+                .onBackpressureDrop()
+                .concatMapIterable(tick -> client.drain())
+                .doFinally(signal -> unsubscribe(portfolio, client));
+    }
+
+    private void unsubscribe(String portfolio, ClientQueue client) {
+        feeds.computeIfPresent(portfolio, (key, feed) -> {
+            feed.clients.remove(client);
+            return feed.clients.isEmpty() ? null : feed;
+        });
+    }
+
+    // Vem do OutboxFanOut desta instância, para escritas feitas em qualquer instância
+    @TransactionalEventListener
+    public void onInvestmentsChanged(InvestmentsChangedEvent event) {
+        PortfolioFeed feed = feeds.get(event.portfolio());
+        if (feed != null) {
+            feed.investmentsChanged.set(true);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${investments.stream.interval-ms:1000}")
+    public void publish() {
+        if (feeds.isEmpty()) {
+            return;
+        }
+        // Os ticks desde a última varredura valem para todas as carteiras
+        long since = lastPriceScan;
+        lastPriceScan = System.currentTimeMillis();
+        List<Integer> changedPrices = changedPriceIds(since);
+
+        for (PortfolioFeed feed : feeds.values()) {
+            PortfolioContext.run(feed.portfolio, () -> publish(feed, changedPrices));
+        }
+    }
+
+    private void publish(PortfolioFeed feed, List<Integer> changedPrices) {
+        SummaryDTO summary = null;
+        List<PositionValueDTO> positions;
+        if (feed.investmentsChanged.getAndSet(false)) {
+            summary = investmentService.getSummary();
+            positions = valueAllHoldings(feed);
+        } else {
+            positions = valueChangedPrices(feed, changedPrices);
+        }
+        if (summary != null || !positions.isEmpty()) {
+            for (ClientQueue client : feed.clients) {
+                client.offer(summary, positions);
+            }
+        }
+    }
+
+    // Recarrega as quantidades por símbolo após uma escrita; símbolos que saíram da carteira vão com quantidade zero
+    private List<PositionValueDTO> valueAllHoldings(PortfolioFeed feed) {
+        Map<String, SymbolHolding> previous = feed.holdings;
+        Map<String, SymbolHolding> latest = loadHoldings();
+        feed.holdings = latest;
+
+        List<PositionValueDTO> positions = value(latest);
+        for (String symbol : previous.keySet()) {
+            if (!latest.containsKey(symbol)) {
+                positions.add(new PositionValueDTO(symbol, priceBook.price(symbol), 0,
+                        BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO));
+            }
+        }
+        return positions;
+    }
+
+    private Map<String, SymbolHolding> loadHoldings() {
+        Map<String, SymbolHolding> latest = new HashMap<>();
+        for (SymbolHolding holding : investmentRepository.sumHoldingsBySymbol()) {
+            latest.put(holding.getSymbol(), holding);
+        }
+        return latest;
+    }
+
+    private List<PositionValueDTO> value(Map<String, SymbolHolding> holdingsBySymbol) {
+        List<PositionValueDTO> positions = new ArrayList<>(holdingsBySymbol.size());
+        for (SymbolHolding holding : holdingsBySymbol.values()) {
+            positions.add(value(holding, priceBook.price(holding.getSymbol())));
+        }
+        return positions;
+    }
+
+    private List<Integer> changedPriceIds(long since) {
+        List<Integer> changed = new ArrayList<>();
+        for (int id = 0; id < priceBook.size(); id++) {
+            if (priceBook.updatedAt(id) >= since) {
+                changed.add(id);
+            }
+        }
+        return changed;
+    }
+
+    // Só os símbolos com tick desde a última varredura
+    private List<PositionValueDTO> valueChangedPrices(PortfolioFeed feed, List<Integer> changedPrices) {
+        List<PositionValueDTO> positions = new ArrayList<>();
+        for (int id : changedPrices) {
+            SymbolHolding holding = feed.holdings.get(priceBook.symbol(id));
+            long scaledPrice = priceBook.scaledPrice(id);
+            if (holding != null && scaledPrice > 0) {
+                positions.add(value(holding, PriceBook.toPrice(scaledPrice)));
+            }
+        }
+        return positions;
+    }
+
+    private PositionValueDTO value(SymbolHolding holding, BigDecimal price) {
+        BigDecimal quantity = BigDecimal.valueOf(holding.getQuantity());
+        BigDecimal currentPrice = price != null
+                ? price
+                : holding.getCostBasis().divide(quantity, MONEY_SCALE, RoundingMode.HALF_EVEN);
+        BigDecimal marketValue = currentPrice.multiply(quantity).setScale(MONEY_SCALE, RoundingMode.HALF_EVEN);
+        return new PositionValueDTO(
+                holding.getSymbol(),
+                currentPrice,
+                holding.getQuantity(),
+                holding.getCostBasis(),
+                marketValue,
+                marketValue.subtract(holding.getCostBasis()));
+    }
+
+    // Clientes de uma carteira e as quantidades por símbolo dela, recarregadas após cada escrita
+    private static class PortfolioFeed {
+
+        private final String portfolio;
+        private final Set<ClientQueue> clients = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean investmentsChanged = new AtomicBoolean(true);
+        private volatile Map<String, SymbolHolding> holdings = Map.of();
+
+        PortfolioFeed(String portfolio) {
+            this.portfolio = portfolio;
+        }
+    }
+
+    // Fila conflacionada de um cliente: o valor mais recente por símbolo substitui o anterior
+    private static class ClientQueue {
+
+        private final AtomicReference<SummaryDTO> pendingSummary = new AtomicReference<>();
+        private final Map<String, PositionValueDTO> pendingPositions = new ConcurrentHashMap<>();
+        private volatile long lastSent = System.nanoTime();
+
+        void offer(SummaryDTO summary, List<PositionValueDTO> positions) {
+            if (summary != null) {
+                pendingSummary.set(summary);
+            }
+            for (PositionValueDTO position : positions) {
+                pendingPositions.put(position.symbol(), position);
+            }
+        }
+
+        List<ServerSentEvent<Object>> drain() {
+            List<ServerSentEvent<Object>> events = new ArrayList<>(2);
+            SummaryDTO summary = pendingSummary.getAndSet(null);
+            if (summary != null) {
+                events.add(ServerSentEvent.<Object>builder(summary).event("summary").build());
+            }
+            if (!pendingPositions.isEmpty()) {
+                List<PositionValueDTO> positions = new ArrayList<>(pendingPositions.size());
+                for (String symbol : pendingPositions.keySet()) {
+                    PositionValueDTO position = pendingPositions.remove(symbol);
+                    if (position != null) {
+                        positions.add(position);
+                    }
+                }
+                events.add(ServerSentEvent.<Object>builder(positions).event("positions").build());
+            }
+
+            long now = System.nanoTime();
+            if (!events.isEmpty()) {
+                lastSent = now;
+            } else if (now - lastSent >= HEARTBEAT.toNanos()) {
+                // Comentário periódico para detectar conexões encerradas do lado do cliente
+                events.add(ServerSentEvent.<Object>builder().comment("keep-alive").build());
+                lastSent = now;
+            }
+            return events;
+        }
+    }
+}
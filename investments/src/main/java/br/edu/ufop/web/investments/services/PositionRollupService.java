@@ -0,0 +1,117 @@
+package br.edu.ufop.web.investments.services;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.dtos.PositionDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.PositionRollup;
+import br.edu.ufop.web.investments.repositories.PositionRollupRepository;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService.SnapshotChanges;
+import br.edu.ufop.web.investments.services.PortfolioSnapshotService.SnapshotChanges.LotChange;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Posições por símbolo/tipo mantidas a cada escrita, a partir dos mesmos lotes que alimentam as linhas diárias.
+// Escritas concorrentes no mesmo símbolo se serializam no upsert da linha (travada até o commit), e as
+// linhas são tocadas em ordem de chave para duas transações não se bloquearem em ordens diferentes.
+@Service
+public class PositionRollupService {
+
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator.comparing(RollupKey::symbol)
+            .thenComparing(RollupKey::type);
+
+    @Autowired
+    private PositionRollupRepository rollupRepository;
+
+    @Transactional
+    public void recordChanges(SnapshotChanges changes) {
+        Map<RollupKey, RollupChange> byKey = new TreeMap<>(KEY_ORDER);
+        changes.addedLots().forEach(lot -> byKey.computeIfAbsent(RollupKey.of(lot), key -> new RollupChange()).add(lot));
+        changes.removedLots().forEach(lot -> byKey.computeIfAbsent(RollupKey.of(lot), key -> new RollupChange()).remove(lot));
+
+        String portfolio = PortfolioContext.current();
+        byKey.forEach((key, change) -> {
+            String type = key.type().name();
+            if (change.addedFirst != null) {
+                rollupRepository.addChange(portfolio, key.symbol(), type, change.quantity, change.cost, change.count,
+                        change.addedFirst, change.addedLast);
+            } else {
+                rollupRepository.addToExisting(portfolio, key.symbol(), type, change.quantity, change.cost, change.count);
+            }
+            if (change.removedFirst != null) {
+                rollupRepository.refreshDates(portfolio, key.symbol(), type, change.removedFirst, change.removedLast);
+                rollupRepository.deleteIfEmpty(portfolio, key.symbol(), type);
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<PositionDTO> getPositions(String type) {
+        AssetType assetType = InvestmentService.parseAssetType(type);
+        List<PositionRollup> rollups = assetType == null
+                ? rollupRepository.findAllByOrderBySymbolAscTypeAsc()
+                : rollupRepository.findByTypeOrderBySymbol(assetType);
+        return rollups.stream()
+                .map(rollup -> new PositionDTO(
+                        rollup.getSymbol(),
+                        rollup.getType(),
+                        rollup.getTotalQuantity(),
+                        rollup.getTotalCost(),
+                        rollup.getAveragePrice(),
+                        rollup.getLotCount(),
+                        rollup.getFirstPurchaseDate(),
+                        rollup.getLastPurchaseDate()))
+                .toList();
+    }
+
+    private record RollupKey(String symbol, AssetType type) {
+
+        static RollupKey of(LotChange lot) {
+            return new RollupKey(lot.symbol(), lot.type());
+        }
+    }
+
+    // Variação líquida de uma chave; as datas extremas dos lotes que entraram e dos que saíram
+    private static class RollupChange {
+
+        private long quantity;
+        private BigDecimal cost = BigDecimal.ZERO;
+        private long count;
+        private LocalDate addedFirst;
+        private LocalDate addedLast;
+        private LocalDate removedFirst;
+        private LocalDate removedLast;
+
+        void add(LotChange lot) {
+            quantity += lot.quantity();
+            cost = cost.add(lot.price().multiply(BigDecimal.valueOf(lot.quantity())));
+            count++;
+            addedFirst = min(addedFirst, lot.date());
+            addedLast = max(addedLast, lot.date());
+        }
+
+        void remove(LotChange lot) {
+            quantity -= lot.quantity();
+            cost = cost.subtract(lot.price().multiply(BigDecimal.valueOf(lot.quantity())));
+            count--;
+            removedFirst = min(removedFirst, lot.date());
+            removedLast = max(removedLast, lot.date());
+        }
+
+        private static LocalDate min(LocalDate current, LocalDate date) {
+            return current == null || date.isBefore(current) ? date : current;
+        }
+
+        private static LocalDate max(LocalDate current, LocalDate date) {
+            return current == null || date.isAfter(current) ? date : current;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package br.edu.ufop.web.investments.services.exports;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.models.Investment;
+
+// Formato colunar binário, no espírito do Parquet, para cargas analíticas que leem poucas colunas.
+// As linhas são agrupadas em grupos de até ROW_GROUP_SIZE; dentro de cada grupo, cada coluna é
+// gravada contígua e precedida do seu tamanho em bytes, para que um leitor possa pular colunas.
+// Todos os inteiros são big-endian (DataOutputStream); textos em UTF-8 modificado (writeUTF).
+//
+//   arquivo   = "INVC" versão:short tipos:[byte n, n × utf]  grupo*  fim
+//   grupo     = linhas:int  id  type  symbol  quantity  purchasePrice  purchaseDate
+//               (cada coluna = bytes:int + conteúdo)
+//     id            linhas × (long mais significativo, long menos significativo)
+//     type          linhas × byte (índice na lista de tipos do cabeçalho)
+//     symbol        dicionário do grupo [int n, n × utf] + linhas × int (índice no dicionário)
+//     quantity      linhas × int
+//     purchasePrice linhas × long (valor × 100, decimal(18,2))
+//     purchaseDate  linhas × int (dias desde 1970-01-01)
+//   fim       = linhas:int 0  total:long  "INVC"
+public class ColumnarExportWriter implements ExportWriter {
+
+    private static final byte[] MAGIC = { 'I', 'N', 'V', 'C' };
+    private static final short VERSION = 1;
+    private static final int ROW_GROUP_SIZE = 64 * 1024;
+    private static final int PRICE_SCALE = 2;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataOutputStream output;
+
+    // Grupo atual, em arrays primitivos
+    private final long[] idHigh = new long[ROW_GROUP_SIZE];
+    private final long[] idLow = new long[ROW_GROUP_SIZE];
+    private final byte[] types = new byte[ROW_GROUP_SIZE];
+    private final int[] symbolCodes = new int[ROW_GROUP_SIZE];
+    private final int[] quantities = new int[ROW_GROUP_SIZE];
+    private final long[] prices = new long[ROW_GROUP_SIZE];
+    private final int[] dates = new int[ROW_GROUP_SIZE];
+    private final Map<String, Integer> symbolDictionary = new HashMap<>();
+    private final ByteArrayOutputStream dictionaryBytes = new ByteArrayOutputStream();
+    private final DataOutputStream dictionary = new DataOutputStream(dictionaryBytes);
+    private int rows;
+    private long totalRows;
+
+    public ColumnarExportWriter(OutputStream output) throws IOException {
+        this.output = new DataOutputStream(new BufferedOutputStream(output, BUFFER_SIZE));
+        this.output.write(MAGIC);
+        this.output.writeShort(VERSION);
+        AssetType[] assetTypes = AssetType.values();
+        this.output.writeByte(assetTypes.length);
+        for (AssetType assetType : assetTypes) {
+            this.output.writeUTF(assetType.name());
+        }
+    }
+
+    @Override
+    public void write(Investment investment) throws IOException {
+        idHigh[rows] = investment.getId().getMostSignificantBits();
+        idLow[rows] = investment.getId().getLeastSignificantBits();
+        types[rows] = (byte) investment.getType().ordinal();
+        symbolCodes[rows] = symbolCode(investment.getSymbol());
+        quantities[rows] = investment.getQuantity();
+        prices[rows] = investment.getPurchasePrice().movePointRight(PRICE_SCALE).longValueExact();
+        dates[rows] = (int) investment.getPurchaseDate().toEpochDay();
+        if (++rows == ROW_GROUP_SIZE) {
+            writeRowGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (rows > 0) {
+            writeRowGroup();
+        }
+        output.writeInt(0);
+        output.writeLong(totalRows);
+        output.write(MAGIC);
+        output.flush();
+    }
+
+    private int symbolCode(String symbol) throws IOException {
+        Integer code = symbolDictionary.get(symbol);
+        if (code == null) {
+            code = symbolDictionary.size();
+            symbolDictionary.put(symbol, code);
+            dictionary.writeUTF(symbol);
+        }
+        return code;
+    }
+
+    private void writeRowGroup() throws IOException {
+        output.writeInt(rows);
+
+        output.writeInt(rows * 2 * Long.BYTES);
+        for (int i = 0; i < rows; i++) {
+            output.writeLong(idHigh[i]);
+            output.writeLong(idLow[i]);
+        }
+
+        output.writeInt(rows);
+        output.write(types, 0, rows);
+
+        output.writeInt(Integer.BYTES + dictionaryBytes.size() + rows * Integer.BYTES);
+        output.writeInt(symbolDictionary.size());
+        dictionaryBytes.writeTo(output);
+        for (int i = 0; i < rows; i++) {
+            output.writeInt(symbolCodes[i]);
+        }
+
+        output.writeInt(rows * Integer.BYTES);
+        for (int i = 0; i < rows; i++) {
+            output.writeInt(quantities[i]);
+        }
+
+        output.writeInt(rows * Long.BYTES);
+        for (int i = 0; i < rows; i++) {
+            output.writeLong(prices[i]);
+        }
+
+        output.writeInt(rows * Integer.BYTES);
+        for (int i = 0; i < rows; i++) {
+            output.writeInt(dates[i]);
+        }
+
+        totalRows += rows;
+        rows = 0;
+        symbolDictionary.clear();
+        dictionaryBytes.reset();
+    }
+}
@@ -0,0 +1,61 @@
+package br.edu.ufop.web.investments.services.exports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+
+import br.edu.ufop.web.investments.models.Investment;
+
+// CSV com cabeçalho, separador ',' e ponto decimal; o mesmo layout aceito por POST /investments/import
+public class CsvExportWriter implements ExportWriter {
+
+    private static final String HEADER = "id,type,symbol,quantity,purchasePrice,purchaseDate";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BufferedWriter writer;
+
+    public CsvExportWriter(OutputStream output) throws IOException {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(HEADER);
+        writer.write('\n');
+    }
+
+    @Override
+    public void write(Investment investment) throws IOException {
+        writer.write(investment.getId().toString());
+        writer.write(',');
+        writer.write(investment.getType().name());
+        writer.write(',');
+        writeSymbol(investment.getSymbol());
+        writer.write(',');
+        writer.write(Integer.toString(investment.getQuantity()));
+        writer.write(',');
+        writer.write(investment.getPurchasePrice().toPlainString());
+        writer.write(',');
+        writer.write(investment.getPurchaseDate().toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+    }
+
+    // Aspas só quando o símbolo contém separador, aspas ou quebra de linha
+    private void writeSymbol(String symbol) throws IOException {
+        boolean needsQuotes = false;
+        for (int i = 0; i < symbol.length() && !needsQuotes; i++) {
+            char c = symbol.charAt(i);
+            needsQuotes = c == ',' || c == ';' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(symbol);
+            return;
+        }
+        writer.write('"');
+        writer.write(symbol.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
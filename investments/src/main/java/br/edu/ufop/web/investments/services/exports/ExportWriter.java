@@ -0,0 +1,14 @@
+package br.edu.ufop.web.investments.services.exports;
+
+import java.io.IOException;
+
+import br.edu.ufop.web.investments.models.Investment;
+
+// Escreve investimentos direto no fluxo de saída, um por vez, sem montar DTOs nem listas
+public interface ExportWriter {
+
+    void write(Investment investment) throws IOException;
+
+    // Descarrega o que estiver em buffer; não fecha o fluxo de saída
+    void finish() throws IOException;
+}
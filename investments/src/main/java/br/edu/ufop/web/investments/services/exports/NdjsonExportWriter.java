@@ -0,0 +1,42 @@
+package br.edu.ufop.web.investments.services.exports;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import br.edu.ufop.web.investments.converters.InvestmentConverter;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.models.Investment;
+
+// Uma linha por InvestmentResponseDTO, serializada pelo mesmo ObjectWriter do GET /investments em NDJSON
+public class NdjsonExportWriter implements ExportWriter {
+
+    private final JsonGenerator generator;
+    private final ObjectWriter writer;
+    private final InvestmentConverter investmentConverter;
+
+    public NdjsonExportWriter(OutputStream output, ObjectMapper objectMapper, InvestmentConverter investmentConverter)
+            throws IOException {
+        this.generator = objectMapper.getFactory().createGenerator(output);
+        this.writer = objectMapper.writerFor(InvestmentResponseDTO.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.investmentConverter = investmentConverter;
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null); // o separador entre linhas é o '\n' abaixo
+    }
+
+    @Override
+    public void write(Investment investment) throws IOException {
+        writer.writeValue(generator, investmentConverter.toResponseDto(investment));
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.close();
+    }
+}
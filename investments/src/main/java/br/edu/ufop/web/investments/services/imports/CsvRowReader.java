@@ -0,0 +1,175 @@
+package br.edu.ufop.web.investments.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+
+// CSV com cabeçalho contendo as colunas type, symbol, quantity, purchasePrice e purchaseDate (em qualquer ordem).
+// O separador é ',' ou ';' (detectado pelo cabeçalho); com ';' o preço aceita vírgula decimal e a data
+// aceita dd/MM/yyyy, como nos extratos de corretoras brasileiras. Campos entre aspas não podem quebrar linha.
+public class CsvRowReader implements ImportRowReader {
+
+    private static final String[] COLUMNS = { "type", "symbol", "quantity", "purchaseprice", "purchasedate" };
+    private static final int TYPE = 0;
+    private static final int SYMBOL = 1;
+    private static final int QUANTITY = 2;
+    private static final int PURCHASE_PRICE = 3;
+    private static final int PURCHASE_DATE = 4;
+    private static final DateTimeFormatter BRAZILIAN_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private final BufferedReader reader;
+    private final char separator;
+    private final int[] columnIndexes = new int[COLUMNS.length];
+    private final List<String> fields = new ArrayList<>(COLUMNS.length);
+    private long lineNumber;
+
+    // Lê e valida o cabeçalho; um cabeçalho inválido rejeita o arquivo inteiro
+    public CsvRowReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        String header = reader.readLine();
+        lineNumber = 1;
+        if (header == null || header.isBlank()) {
+            throw new IllegalArgumentException("O arquivo CSV deve começar com uma linha de cabeçalho.");
+        }
+        if (header.charAt(0) == '\uFEFF') {
+            header = header.substring(1); // BOM de planilhas exportadas
+        }
+        separator = header.indexOf(';') >= 0 ? ';' : ',';
+
+        split(header);
+        for (int column = 0; column < COLUMNS.length; column++) {
+            columnIndexes[column] = -1;
+            for (int index = 0; index < fields.size(); index++) {
+                if (fields.get(index).trim().toLowerCase(Locale.ROOT).equals(COLUMNS[column])) {
+                    columnIndexes[column] = index;
+                }
+            }
+            if (columnIndexes[column] < 0) {
+                throw new IllegalArgumentException("Coluna obrigatória ausente no cabeçalho do CSV: " + COLUMNS[column] + ".");
+            }
+        }
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!split(line)) {
+                return ImportRow.rejected(lineNumber, "Aspas não fechadas na linha.");
+            }
+            try {
+                return ImportRow.of(lineNumber, new InvestmentRequestDTO(
+                        parseType(field(TYPE)),
+                        field(SYMBOL),
+                        parseQuantity(field(QUANTITY)),
+                        parsePrice(field(PURCHASE_PRICE)),
+                        parseDate(field(PURCHASE_DATE))));
+            } catch (IllegalArgumentException e) {
+                return ImportRow.rejected(lineNumber, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // Valor da coluna, ou null se estiver vazia ou ausente na linha
+    private String field(int column) {
+        int index = columnIndexes[column];
+        if (index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private AssetType parseType(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return AssetType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de ativo inválido: " + value + ".");
+        }
+    }
+
+    private Integer parseQuantity(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Quantidade inválida: " + value + ".");
+        }
+    }
+
+    private BigDecimal parsePrice(String value) {
+        if (value == null) {
+            return null;
+        }
+        String normalized = separator == ';' && value.indexOf('.') < 0 ? value.replace(',', '.') : value;
+        try {
+            return new BigDecimal(normalized);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Preço de compra inválido: " + value + ".");
+        }
+    }
+
+    private LocalDate parseDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return value.indexOf('/') >= 0 ? LocalDate.parse(value, BRAZILIAN_DATE) : LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Data de compra inválida: " + value + ".");
+        }
+    }
+
+    // Separa a linha em campos, tratando aspas duplas ("" dentro de aspas é uma aspa literal); false se as aspas não fecham
+    private boolean split(String line) {
+        fields.clear();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return !quoted;
+    }
+}
@@ -0,0 +1,19 @@
+package br.edu.ufop.web.investments.services.imports;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+
+// Uma linha do arquivo importado: o item lido ou o erro de leitura
+public record ImportRow(
+    long line,
+    InvestmentRequestDTO request,
+    String error
+) {
+
+    public static ImportRow of(long line, InvestmentRequestDTO request) {
+        return new ImportRow(line, request, null);
+    }
+
+    public static ImportRow rejected(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+}
@@ -0,0 +1,11 @@
+package br.edu.ufop.web.investments.services.imports;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+// Lê o arquivo importado uma linha por vez, sem carregá-lo inteiro em memória
+public interface ImportRowReader extends Closeable {
+
+    // Próxima linha com conteúdo, ou null no fim do arquivo
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,50 @@
+package br.edu.ufop.web.investments.services.imports;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+
+// Um InvestmentRequestDTO em JSON por linha; uma linha malformada não afeta as seguintes
+public class NdjsonRowReader implements ImportRowReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+    private long lineNumber;
+
+    public NdjsonRowReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader.forType(InvestmentRequestDTO.class);
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                return ImportRow.of(lineNumber, objectReader.readValue(line));
+            } catch (MismatchedInputException e) {
+                String field = e.getPath().isEmpty() ? null : e.getPath().get(0).getFieldName();
+                return ImportRow.rejected(lineNumber, field != null
+                        ? "Valor inválido para o campo '" + field + "'."
+                        : "Linha não corresponde a um investimento.");
+            } catch (JsonProcessingException e) {
+                return ImportRow.rejected(lineNumber, "JSON inválido.");
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,73 @@
+package br.edu.ufop.web.investments.services.outbox;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Destino local, no lugar de uma fila: acrescenta cada evento como uma linha JSON ao arquivo
+// configurado. O lote só é dado como publicado depois de gravado em disco (force).
+@Component
+@ConditionalOnProperty(name = "investments.outbox.file.enabled", havingValue = "true")
+public class FileOutboxSink implements OutboxSink {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${investments.outbox.file.path:outbox/investment-events.ndjson}")
+    private Path path;
+
+    private ObjectWriter writer;
+    private FileChannel channel;
+
+    @PostConstruct
+    public void open() throws IOException {
+        writer = objectMapper.writerFor(InvestmentsChangedEvent.class);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public String name() {
+        return "file";
+    }
+
+    // Chamado só pelo despachante, uma passada por vez
+    @Override
+    public void publish(List<InvestmentsChangedEvent> events) throws IOException {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (InvestmentsChangedEvent event : events) {
+            writer.writeValue(lines, event);
+            lines.write('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        channel.close();
+    }
+}
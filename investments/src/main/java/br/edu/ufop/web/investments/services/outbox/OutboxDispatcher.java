@@ -0,0 +1,100 @@
+package br.edu.ufop.web.investments.services.outbox;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+import br.edu.ufop.web.investments.models.OutboxEvent;
+import br.edu.ufop.web.investments.repositories.OutboxEventRepository;
+import br.edu.ufop.web.investments.tenancy.DatabaseShards;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+
+// Lê o outbox em lotes, em ordem de ID, e publica cada lote nos OutboxSink registrados. Lote publicado é
+// marcado na mesma transação que o travou; se um destino falhar, nada é marcado e o lote volta na próxima
+// passada (entrega ao menos uma vez). Várias instâncias podem despachar ao mesmo tempo: cada uma pega lotes
+// diferentes (SKIP LOCKED), então cada evento chega aos destinos por uma só delas. Os ouvintes de
+// InvestmentsChangedEvent da aplicação não são chamados daqui, e sim pelo OutboxFanOut de cada instância,
+// que lê os eventos marcados: assim os clientes SSE e os caches de todas as instâncias recebem todos.
+// A ordem de ID não é a de commit: um evento de ID menor confirmado depois sai numa passada seguinte.
+@Service
+public class OutboxDispatcher {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DatabaseShards databaseShards;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired(required = false)
+    private List<OutboxSink> outboxSinks = List.of();
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${investments.outbox.batch-size:500}")
+    private int batchSize;
+
+    @Value("${investments.outbox.retention:7d}")
+    private Duration retention;
+
+    private Counter dispatched;
+
+    @PostConstruct
+    public void registerMetrics() {
+        dispatched = Counter.builder("investments.outbox.dispatched")
+                .description("Eventos do outbox publicados")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${investments.outbox.poll-interval-ms:250}")
+    public void dispatch() {
+        databaseShards.forEach(this::drain);
+    }
+
+    // Remove os já publicados há mais que a retenção; até lá, podem ser reenviados (OutboxService.replayFrom)
+    @Scheduled(fixedDelayString = "${investments.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        Instant cutoff = Instant.now().minus(retention);
+        databaseShards.forEach(() -> outboxEventRepository.deletePublishedBefore(cutoff));
+    }
+
+    private void drain() {
+        int published;
+        do {
+            published = transactionTemplate.execute(status -> dispatchBatch());
+        } while (published == batchSize);
+    }
+
+    private int dispatchBatch() {
+        List<OutboxEvent> pending = outboxEventRepository.lockPending(batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+        List<InvestmentsChangedEvent> events = pending.stream().map(OutboxEvent::toEvent).toList();
+        for (OutboxSink outboxSink : outboxSinks) {
+            try {
+                outboxSink.publish(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Falha ao publicar o outbox em " + outboxSink.name(), e);
+            }
+        }
+        Instant now = Instant.now();
+        pending.forEach(event -> event.setPublishedAt(now));
+        dispatched.increment(pending.size());
+        return pending.size();
+    }
+}
@@ -0,0 +1,30 @@
+package br.edu.ufop.web.investments.services.outbox;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.stereotype.Component;
+
+// /actuator/outbox: GET mostra quantos eventos aguardam despacho; POST {"fromId": n} reenvia, a partir do
+// ID n, os eventos ainda retidos (investments.outbox.retention), para um destino que perdeu ou quer reprocessar.
+// Os IDs não seguem a ordem de commit: escolha n abaixo do último evento recebido, não exatamente nele.
+@Component
+@Endpoint(id = "outbox")
+public class OutboxEndpoint {
+
+    @Autowired
+    private OutboxService outboxService;
+
+    @ReadOperation
+    public Map<String, Long> pending() {
+        return Map.of("pending", outboxService.countPending());
+    }
+
+    @WriteOperation
+    public Map<String, Integer> replay(long fromId) {
+        return Map.of("replayed", outboxService.replayFrom(fromId));
+    }
+}
@@ -0,0 +1,84 @@
+package br.edu.ufop.web.investments.services.outbox;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.models.OutboxEvent;
+import br.edu.ufop.web.investments.repositories.OutboxEventRepository;
+import br.edu.ufop.web.investments.tenancy.DatabaseShards;
+
+// Repassa aos ouvintes de InvestmentsChangedEvent desta instância (streams SSE, caches) os eventos que
+// qualquer instância despachou: o OutboxDispatcher publica cada lote por uma instância só, mas cada uma
+// precisa saber de todas as escritas. Cada instância acompanha, em cada shard, os eventos marcados como
+// publicados a partir de um cursor. A marcação não é confirmada na ordem de published_at (a transação de
+// outra instância pode confirmar depois), então a leitura volta investments.outbox.fan-out-margin a cada
+// passada e descarta o que já repassou pelo ID e pelo instante da publicação; um reenvio (replayFrom)
+// muda o instante e é repassado de novo. Eventos publicados antes da subida da instância não são repassados.
+@Service
+public class OutboxFanOut {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DatabaseShards databaseShards;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${investments.outbox.fan-out-margin:5s}")
+    private Duration margin;
+
+    private final Map<Integer, ShardCursor> cursors = new ConcurrentHashMap<>();
+    private final Instant startedAt = Instant.now();
+
+    @Scheduled(fixedDelayString = "${investments.outbox.poll-interval-ms:250}")
+    public synchronized void deliver() {
+        databaseShards.forEachShard(shard -> {
+            ShardCursor cursor = cursors.computeIfAbsent(shard, key -> new ShardCursor(startedAt.minus(margin)));
+            // Os ouvintes @TransactionalEventListener são chamados quando esta transação termina
+            transactionTemplate.executeWithoutResult(status -> deliver(cursor));
+        });
+    }
+
+    private void deliver(ShardCursor cursor) {
+        List<OutboxEvent> published = outboxEventRepository.findPublishedSince(cursor.since);
+        Instant latest = null;
+        for (OutboxEvent event : published) {
+            if (!event.getPublishedAt().equals(cursor.delivered.put(event.getId(), event.getPublishedAt()))) {
+                eventPublisher.publishEvent(event.toEvent());
+            }
+            latest = event.getPublishedAt();
+        }
+        if (latest != null && latest.minus(margin).isAfter(cursor.since)) {
+            Instant since = latest.minus(margin);
+            cursor.since = since;
+            cursor.delivered.values().removeIf(publishedAt -> publishedAt.isBefore(since));
+        }
+    }
+
+    // Até onde um shard foi lido e o que, dentro da margem, já foi repassado
+    private static class ShardCursor {
+
+        private Instant since;
+        private final Map<Long, Instant> delivered = new HashMap<>();
+
+        ShardCursor(Instant since) {
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package br.edu.ufop.web.investments.services.outbox;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.edu.ufop.web.investments.enums.InvestmentChangeType;
+import br.edu.ufop.web.investments.models.OutboxEvent;
+import br.edu.ufop.web.investments.repositories.OutboxEventRepository;
+import br.edu.ufop.web.investments.tenancy.DatabaseShards;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Lado da escrita do outbox: as escritas de investimentos registram aqui o que mudaram, com um único
+// INSERT na transação delas. Quem reage às mudanças (streams, destinos externos) é chamado depois,
+// pelo OutboxDispatcher e pelo OutboxFanOut, fora da requisição.
+@Service
+public class OutboxService {
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private DatabaseShards databaseShards;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Na transação da escrita: se ela for desfeita, o evento também é
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(InvestmentChangeType change, Collection<UUID> investmentIds) {
+        if (investmentIds.isEmpty()) {
+            return;
+        }
+        entityManager.persist(OutboxEvent.builder()
+                .portfolio(PortfolioContext.current())
+                .change(change)
+                .investmentIds(List.copyOf(investmentIds))
+                .createdAt(Instant.now())
+                .build());
+    }
+
+    // Publica de novo os eventos ainda retidos a partir de fromId (em cada shard, cada um com seus IDs).
+    // Um evento de ID menor que fromId pode ter sido confirmado depois dele: quem reprocessa parte com folga.
+    public int replayFrom(long fromId) {
+        AtomicInteger replayed = new AtomicInteger();
+        databaseShards.forEach(() -> replayed.addAndGet(outboxEventRepository.markUnpublishedFrom(fromId)));
+        return replayed.get();
+    }
+
+    public long countPending() {
+        AtomicLong pending = new AtomicLong();
+        databaseShards.forEach(() -> pending.addAndGet(outboxEventRepository.countPending()));
+        return pending.get();
+    }
+}
@@ -0,0 +1,16 @@
+package br.edu.ufop.web.investments.services.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+
+// Destino externo dos eventos do outbox (fila, log, outro serviço...). Recebe os eventos em lotes, em
+// ordem de ID; se lançar exceção, o lote continua pendente e volta na próxima passada, então a mesma
+// entrega pode se repetir e o destino deve tolerar eventIds repetidos.
+public interface OutboxSink {
+
+    String name();
+
+    void publish(List<InvestmentsChangedEvent> events) throws IOException;
+}
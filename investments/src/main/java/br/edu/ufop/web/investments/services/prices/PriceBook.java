@@ -0,0 +1,109 @@
+package br.edu.ufop.web.investments.services.prices;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Livro de preços em memória, sem locks no caminho de leitura/escrita.
+// Cada símbolo recebe um índice inteiro fixo; preço e horário da última cotação ficam em
+// AtomicLongArray (preço em unidades de 10^-8), então um tick é só uma escrita atômica
+// e leitores nunca bloqueiam. Só o cadastro de um símbolo novo passa por um lock.
+@Component
+public class PriceBook {
+
+    public static final int PRICE_SCALE = 8;
+    public static final int NO_SYMBOL = -1;
+
+    private final int capacity;
+    private final ConcurrentHashMap<String, Integer> symbolIds = new ConcurrentHashMap<>();
+    private final AtomicReferenceArray<String> symbols;
+    private final AtomicLongArray prices;     // 0 = sem cotação
+    private final AtomicLongArray updatedAt;  // epoch millis do último tick
+    private final AtomicInteger size = new AtomicInteger();
+
+    public PriceBook(@Value("${investments.prices.capacity:16384}") int capacity) {
+        this.capacity = capacity;
+        this.symbols = new AtomicReferenceArray<>(capacity);
+        this.prices = new AtomicLongArray(capacity);
+        this.updatedAt = new AtomicLongArray(capacity);
+    }
+
+    public int register(String symbol) {
+        Integer id = symbolIds.get(symbol);
+        if (id != null) {
+            return id;
+        }
+        synchronized (this) {
+            id = symbolIds.get(symbol);
+            if (id != null) {
+                return id;
+            }
+            int next = size.get();
+            if (next >= capacity) {
+                throw new IllegalStateException("Capacidade do livro de preços esgotada (" + capacity + " símbolos).");
+            }
+            symbols.set(next, symbol);
+            symbolIds.put(symbol, next);
+            size.set(next + 1);
+            return next;
+        }
+    }
+
+    public int idOf(String symbol) {
+        return symbolIds.getOrDefault(symbol, NO_SYMBOL);
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public String symbol(int id) {
+        return symbols.get(id);
+    }
+
+    public void update(int id, long scaledPrice, long timestampMillis) {
+        if (scaledPrice <= 0) {
+            throw new IllegalArgumentException("O preço deve ser positivo.");
+        }
+        // Preço antes do horário: quem lê updatedAt (acquire) e vê o tick novo já enxerga o preço dele
+        prices.setRelease(id, scaledPrice);
+        updatedAt.setRelease(id, timestampMillis);
+    }
+
+    public void update(String symbol, BigDecimal price, long timestampMillis) {
+        update(register(symbol), toScaled(price), timestampMillis);
+    }
+
+    public long scaledPrice(int id) {
+        return prices.getAcquire(id);
+    }
+
+    public long updatedAt(int id) {
+        return updatedAt.getAcquire(id);
+    }
+
+    // Preço atual do símbolo, ou null se ainda não houve cotação
+    public BigDecimal price(String symbol) {
+        int id = idOf(symbol);
+        if (id == NO_SYMBOL) {
+            return null;
+        }
+        long scaled = scaledPrice(id);
+        return scaled == 0 ? null : toPrice(scaled);
+    }
+
+    public static long toScaled(BigDecimal price) {
+        return price.setScale(PRICE_SCALE, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toPrice(long scaledPrice) {
+        BigDecimal price = BigDecimal.valueOf(scaledPrice, PRICE_SCALE).stripTrailingZeros();
+        return price.scale() < 2 ? price.setScale(2) : price;
+    }
+}
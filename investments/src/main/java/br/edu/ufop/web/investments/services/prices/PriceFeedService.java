@@ -0,0 +1,38 @@
+package br.edu.ufop.web.investments.services.prices;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+// Liga as fontes de cotação registradas como beans ao livro de preços
+@Service
+public class PriceFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceFeedService.class);
+
+    @Autowired
+    private PriceBook priceBook;
+
+    @Autowired(required = false)
+    private List<PriceSource> priceSources = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        for (PriceSource priceSource : priceSources) {
+            log.info("Iniciando fonte de cotações {}", priceSource.name());
+            priceSource.start(priceBook);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        priceSources.forEach(PriceSource::stop);
+    }
+}
@@ -0,0 +1,12 @@
+package br.edu.ufop.web.investments.services.prices;
+
+// Origem de cotações (corretora, bolsa, simulador...). Cada implementação escreve os ticks
+// diretamente no PriceBook, a partir das threads que quiser.
+public interface PriceSource {
+
+    String name();
+
+    void start(PriceBook priceBook);
+
+    void stop();
+}
@@ -0,0 +1,98 @@
+package br.edu.ufop.web.investments.services.prices;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.repositories.projections.SymbolPrice;
+import br.edu.ufop.web.investments.tenancy.DatabaseShards;
+
+// Simulador local: passeio aleatório sobre os símbolos da carteira, a partir do preço de compra.
+// Substitui o Math.random() que o frontend usava para "cotação atual".
+@Component
+@ConditionalOnProperty(name = "investments.prices.simulated.enabled", havingValue = "true")
+public class SimulatedPriceSource implements PriceSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SimulatedPriceSource.class);
+
+    private static final long RESEED_INTERVAL_MS = 30_000;
+
+    @Autowired
+    private InvestmentRepository investmentRepository;
+
+    @Autowired
+    private DatabaseShards databaseShards;
+
+    @Value("${investments.prices.simulated.interval-ms:1000}")
+    private long intervalMs;
+
+    @Value("${investments.prices.simulated.volatility:0.005}")
+    private double volatility;
+
+    private ScheduledExecutorService executor;
+    private long lastSeed;
+
+    @Override
+    public String name() {
+        return "simulated";
+    }
+
+    @Override
+    public void start(PriceBook priceBook) {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "simulated-price-source");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(() -> tick(priceBook), 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void tick(PriceBook priceBook) {
+        try {
+            long now = System.currentTimeMillis();
+            if (now - lastSeed >= RESEED_INTERVAL_MS) {
+                seed(priceBook, now);
+                lastSeed = now;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int id = 0; id < priceBook.size(); id++) {
+                long current = priceBook.scaledPrice(id);
+                if (current > 0) {
+                    long next = Math.max(1, Math.round(current * (1 + random.nextGaussian() * volatility)));
+                    priceBook.update(id, next, now);
+                }
+            }
+        } catch (RuntimeException e) {
+            // Uma exceção cancelaria o agendamento; registra e segue no próximo tick
+            log.warn("Falha ao gerar cotações simuladas: {}", e.getMessage());
+        }
+    }
+
+    // Símbolos novos em qualquer carteira (de todos os shards) entram no livro com o preço de compra como
+    // primeira cotação. Esta thread não tem carteira no contexto, por isso a consulta é nativa e sem filtro.
+    private void seed(PriceBook priceBook, long now) {
+        databaseShards.forEach(() -> {
+            for (SymbolPrice symbolPrice : investmentRepository.findReferencePrices()) {
+                if (priceBook.idOf(symbolPrice.getSymbol()) == PriceBook.NO_SYMBOL) {
+                    priceBook.update(symbolPrice.getSymbol(), symbolPrice.getPrice(), now);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package br.edu.ufop.web.investments.tenancy;
+
+import java.util.function.IntConsumer;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+// Tarefas de manutenção que valem para o banco inteiro, e não para uma carteira (limpezas, despacho do outbox):
+// com investments.sharding ligado, a ação roda uma vez em cada shard; senão, uma vez no banco único.
+// A ação deve abrir a própria transação, para a conexão ser obtida já no shard escolhido.
+@Component
+public class DatabaseShards {
+
+    @Autowired
+    private ObjectProvider<ShardRoutingDataSource> shardRoutingDataSource;
+
+    public void forEach(Runnable action) {
+        forEachShard(shard -> action.run());
+    }
+
+    // Como forEach, recebendo o número do shard (0 sem sharding), para quem guarda estado por shard
+    public void forEachShard(IntConsumer action) {
+        ShardRoutingDataSource shards = shardRoutingDataSource.getIfAvailable();
+        if (shards == null) {
+            action.accept(0);
+            return;
+        }
+        for (int shard = 0; shard < shards.shardCount(); shard++) {
+            int current = shard;
+            shards.runOnShard(shard, () -> action.accept(current));
+        }
+    }
+}
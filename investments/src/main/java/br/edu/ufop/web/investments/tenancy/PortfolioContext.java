@@ -0,0 +1,90 @@
+package br.edu.ufop.web.investments.tenancy;
+
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.cache.interceptor.SimpleKey;
+
+// Carteira (tenant) da operação em andamento, por thread. Definida por PortfolioFilter a partir do
+// cabeçalho X-Portfolio-Id e propagada às tarefas assíncronas por wrap; sem carteira definida vale a padrão.
+// É lida pelo Hibernate ao abrir cada sessão (PortfolioTenantResolver) e pelo roteamento entre bancos.
+public final class PortfolioContext {
+
+    public static final String HEADER = "X-Portfolio-Id";
+    public static final String DEFAULT_PORTFOLIO = "default";
+
+    private static final Pattern VALID_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_.-]{0,63}");
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private PortfolioContext() {
+    }
+
+    public static String current() {
+        String portfolio = CURRENT.get();
+        return portfolio != null ? portfolio : DEFAULT_PORTFOLIO;
+    }
+
+    public static String validate(String portfolio) {
+        if (portfolio == null || !VALID_ID.matcher(portfolio).matches()) {
+            throw new IllegalArgumentException("Carteira inválida: use de 1 a 64 letras, dígitos, '.', '_' ou '-'.");
+        }
+        return portfolio;
+    }
+
+    // Passa a operar na carteira indicada até o close do escopo, que restaura a anterior
+    public static Scope enter(String portfolio) {
+        String previous = CURRENT.get();
+        CURRENT.set(portfolio);
+        return () -> {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        };
+    }
+
+    public static <T> T call(String portfolio, Supplier<T> action) {
+        try (Scope scope = enter(portfolio)) {
+            return action.get();
+        }
+    }
+
+    public static void run(String portfolio, Runnable action) {
+        call(portfolio, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // A tarefa roda, em qualquer thread, na carteira de quem a criou
+    public static Runnable wrap(Runnable task) {
+        String portfolio = current();
+        return () -> run(portfolio, task);
+    }
+
+    // Chave de cache qualificada pela carteira: o mesmo ID nunca é servido a outra carteira
+    public static Object cacheKey(Object key) {
+        return cacheKey(current(), key);
+    }
+
+    // Chave dos valores da carteira inteira (resumo)
+    public static Object cacheKey() {
+        return portfolioCacheKey(current());
+    }
+
+    // As mesmas chaves para uma carteira informada, para quem remove entradas fora do contexto dela
+    public static Object cacheKey(String portfolio, Object key) {
+        return new SimpleKey(portfolio, key);
+    }
+
+    public static Object portfolioCacheKey(String portfolio) {
+        return new SimpleKey(portfolio);
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,46 @@
+package br.edu.ufop.web.investments.tenancy;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Define a carteira da requisição pelo cabeçalho X-Portfolio-Id (ausente = carteira padrão).
+// Só identifica a carteira: verificar se o cliente pode acessá-la cabe à autenticação, à frente do serviço.
+public class PortfolioFilter extends OncePerRequestFilter {
+
+    private final ObjectMapper objectMapper;
+
+    public PortfolioFilter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(PortfolioContext.HEADER);
+        String portfolio;
+        try {
+            portfolio = header == null ? PortfolioContext.DEFAULT_PORTFOLIO : PortfolioContext.validate(header.trim());
+        } catch (IllegalArgumentException e) {
+            response.setStatus(HttpStatus.BAD_REQUEST.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding("UTF-8");
+            objectMapper.writeValue(response.getWriter(), Map.of("error", e.getMessage()));
+            return;
+        }
+
+        try (PortfolioContext.Scope scope = PortfolioContext.enter(portfolio)) {
+            chain.doFilter(request, response);
+        }
+    }
+}
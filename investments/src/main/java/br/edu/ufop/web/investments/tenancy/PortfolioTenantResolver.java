@@ -0,0 +1,31 @@
+package br.edu.ufop.web.investments.tenancy;
+
+import java.util.Map;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.context.spi.CurrentTenantIdentifierResolver;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+// Liga a carteira corrente ao @TenantId das entidades: cada sessão do Hibernate é aberta na carteira
+// da thread, e toda consulta JPQL/Criteria ganha "portfolio = ?" e toda inserção recebe a carteira.
+// Consultas nativas não são filtradas e precisam receber a carteira explicitamente.
+@Component
+public class PortfolioTenantResolver implements CurrentTenantIdentifierResolver<String>, HibernatePropertiesCustomizer {
+
+    @Override
+    public String resolveCurrentTenantIdentifier() {
+        return PortfolioContext.current();
+    }
+
+    // O Spring reaproveita a sessão da transação; a carteira não muda no meio dela
+    @Override
+    public boolean validateExistingCurrentSessions() {
+        return false;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.MULTI_TENANT_IDENTIFIER_RESOLVER, this);
+    }
+}
@@ -0,0 +1,60 @@
+package br.edu.ufop.web.investments.tenancy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// Distribui as carteiras entre várias instâncias do PostgreSQL: cada carteira mora inteira em um
+// shard, escolhido pelo hash do seu ID, então uma carteira grande só pesa no próprio shard.
+// A conexão é escolhida pela carteira corrente quando a transação começa.
+// Mudar o número de shards muda o destino das carteiras; os dados precisam ser movidos antes.
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private static final ThreadLocal<Integer> FORCED_SHARD = new ThreadLocal<>();
+
+    private final int shardCount;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        this.shardCount = shards.size();
+        Map<Object, Object> targets = new HashMap<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            targets.put(shard, shards.get(shard));
+        }
+        setTargetDataSources(targets);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    // CRC32 e não String.hashCode: a distribuição dos IDs parecidos ("cliente-1", "cliente-2") fica uniforme
+    public int shardOf(String portfolio) {
+        CRC32 crc = new CRC32();
+        crc.update(portfolio.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    // Executa a ação em um shard específico, sem carteira (manutenção do schema)
+    public void runOnShard(int shard, Runnable action) {
+        FORCED_SHARD.set(shard);
+        try {
+            action.run();
+        } finally {
+            FORCED_SHARD.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Integer forced = FORCED_SHARD.get();
+        return forced != null ? forced : shardOf(PortfolioContext.current());
+    }
+}
@@ -0,0 +1,9 @@
+-- Índices que as anotações @Index não expressam; o Hibernate executa este arquivo depois de criar o schema
+-- (hibernate.hbm2ddl.import_files), no modo de desenvolvimento (ddl-auto=create). Um comando por linha.
+-- No perfil prod o schema vem das migrações em db/migration: um índice novo aqui também precisa de uma versão lá.
+
+-- Prefixo de símbolo (LIKE 'PE%'): com varchar_pattern_ops o índice serve em qualquer collation do banco, dentro da carteira
+CREATE INDEX idx_investments_symbol_pattern ON investments (portfolio, symbol varchar_pattern_ops);
+
+-- Eventos pendentes do outbox, na ordem de despacho: o índice parcial só contém as linhas ainda não publicadas
+CREATE INDEX idx_investment_outbox_pending ON investment_outbox (id) WHERE published_at IS NULL;
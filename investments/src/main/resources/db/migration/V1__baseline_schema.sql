@@ -0,0 +1,116 @@
+-- Schema inicial: o mesmo que o Hibernate gerava com ddl-auto=create a partir das entidades, mais db/indexes.sql.
+-- Bancos já criados dessa forma entram como baseline nesta versão (spring.flyway.baseline-on-migrate, perfil prod).
+-- Mudanças de schema daqui em diante vão em novas versões (V2__..., V3__...), nunca editando esta.
+
+CREATE TABLE investments (
+    id uuid NOT NULL,
+    portfolio varchar(255) NOT NULL,
+    type varchar(255) NOT NULL CHECK (type IN ('ACAO', 'CRIPTO', 'FUNDO', 'RENDA_FIXA', 'OUTRO')),
+    symbol varchar(255) NOT NULL,
+    quantity integer NOT NULL,
+    purchase_price numeric(38,2) NOT NULL,
+    purchase_date date NOT NULL,
+    version bigint NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_investments_purchase_date_id ON investments (portfolio, purchase_date, id);
+CREATE INDEX idx_investments_type_purchase_date_id ON investments (portfolio, type, purchase_date, id);
+-- Prefixo de símbolo (LIKE 'PE%'): com varchar_pattern_ops o índice serve em qualquer collation do banco, dentro da carteira
+CREATE INDEX idx_investments_symbol_pattern ON investments (portfolio, symbol varchar_pattern_ops);
+
+CREATE TABLE portfolio_daily_snapshots (
+    id uuid NOT NULL,
+    portfolio varchar(255) NOT NULL,
+    snapshot_date date NOT NULL,
+    invested_amount numeric(38,2) NOT NULL,
+    asset_count bigint NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_portfolio_daily_snapshots_portfolio_date UNIQUE (portfolio, snapshot_date)
+);
+
+CREATE TABLE ledger_positions (
+    id uuid NOT NULL,
+    portfolio varchar(255) NOT NULL,
+    symbol varchar(255) NOT NULL,
+    type varchar(255) CHECK (type IN ('ACAO', 'CRIPTO', 'FUNDO', 'RENDA_FIXA', 'OUTRO')),
+    next_sequence bigint NOT NULL,
+    position_quantity bigint,
+    cumulative_bought bigint,
+    cumulative_sold bigint,
+    fifo_cost_basis numeric(38,2),
+    average_cost_basis numeric(38,2),
+    total_realized_fifo numeric(38,2),
+    total_realized_average numeric(38,2),
+    last_trade_date date,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_ledger_positions_portfolio_symbol UNIQUE (portfolio, symbol)
+);
+
+CREATE TABLE ledger_transactions (
+    id uuid NOT NULL,
+    portfolio varchar(255) NOT NULL,
+    side varchar(255) NOT NULL CHECK (side IN ('BUY', 'SELL')),
+    type varchar(255) NOT NULL CHECK (type IN ('ACAO', 'CRIPTO', 'FUNDO', 'RENDA_FIXA', 'OUTRO')),
+    symbol varchar(255) NOT NULL,
+    quantity integer NOT NULL,
+    price numeric(38,2) NOT NULL,
+    trade_date date NOT NULL,
+    sequence bigint NOT NULL,
+    investment_id uuid,
+    position_quantity bigint,
+    cumulative_bought bigint,
+    cumulative_sold bigint,
+    fifo_cost_basis numeric(38,2),
+    average_cost_basis numeric(38,2),
+    realized_fifo numeric(38,2),
+    realized_average numeric(38,2),
+    total_realized_fifo numeric(38,2),
+    total_realized_average numeric(38,2),
+    PRIMARY KEY (id),
+    CONSTRAINT idx_ledger_transactions_investment UNIQUE (investment_id)
+);
+
+CREATE INDEX idx_ledger_transactions_symbol_order ON ledger_transactions (portfolio, symbol, trade_date, sequence);
+
+CREATE TABLE idempotency_keys (
+    id uuid NOT NULL,
+    portfolio varchar(255) NOT NULL,
+    idempotency_key varchar(255) NOT NULL,
+    request_hash varchar(64) NOT NULL,
+    response_body text,
+    created_at timestamp(6) with time zone NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_idempotency_keys_portfolio_key UNIQUE (portfolio, idempotency_key)
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
+
+CREATE TABLE investment_outbox (
+    id bigint GENERATED BY DEFAULT AS IDENTITY,
+    portfolio varchar(255) NOT NULL,
+    change_type varchar(255) NOT NULL CHECK (change_type IN ('CREATED', 'UPDATED', 'DELETED')),
+    investment_ids uuid[] NOT NULL,
+    created_at timestamp(6) with time zone NOT NULL,
+    published_at timestamp(6) with time zone,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_investment_outbox_published_at ON investment_outbox (published_at);
+-- Eventos pendentes do outbox, na ordem de despacho: o índice parcial só contém as linhas ainda não publicadas
+CREATE INDEX idx_investment_outbox_pending ON investment_outbox (id) WHERE published_at IS NULL;
+
+CREATE TABLE position_rollups (
+    id uuid NOT NULL,
+    portfolio varchar(255) NOT NULL,
+    symbol varchar(255) NOT NULL,
+    type varchar(255) NOT NULL CHECK (type IN ('ACAO', 'CRIPTO', 'FUNDO', 'RENDA_FIXA', 'OUTRO')),
+    total_quantity bigint NOT NULL,
+    total_cost numeric(38,2) NOT NULL,
+    average_price numeric(38,2) NOT NULL,
+    lot_count bigint NOT NULL,
+    first_purchase_date date NOT NULL,
+    last_purchase_date date NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_position_rollups_portfolio_symbol_type UNIQUE (portfolio, symbol, type)
+);
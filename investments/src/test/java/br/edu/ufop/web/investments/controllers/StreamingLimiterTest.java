@@ -0,0 +1,46 @@
+package br.edu.ufop.web.investments.controllers;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.edu.ufop.web.investments.exceptions.StreamCapacityExceededException;
+
+class StreamingLimiterTest {
+
+	private static final StreamingResponseBody BODY = outputStream -> outputStream.write("ok".getBytes(StandardCharsets.UTF_8));
+
+	@Test
+	void rejectsAboveTheLimitUntilABodyFinishes() throws IOException {
+		StreamingLimiter limiter = new StreamingLimiter(1);
+		StreamingResponseBody first = limiter.limit(new MockHttpServletRequest(), BODY);
+
+		assertThrows(StreamCapacityExceededException.class, () -> limiter.limit(new MockHttpServletRequest(), BODY));
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		first.writeTo(output);
+		assertArrayEquals("ok".getBytes(StandardCharsets.UTF_8), output.toByteArray());
+		limiter.limit(new MockHttpServletRequest(), BODY);
+	}
+
+	@Test
+	void releasesWhenTheBodyFails() throws IOException {
+		StreamingLimiter limiter = new StreamingLimiter(1);
+		StreamingResponseBody failing = limiter.limit(new MockHttpServletRequest(), outputStream -> {
+			throw new IOException("conexão encerrada pelo cliente");
+		});
+
+		assertThrows(IOException.class, () -> failing.writeTo(new ByteArrayOutputStream()));
+		// Rodar o corpo de novo não devolve a vaga duas vezes
+		assertThrows(IOException.class, () -> failing.writeTo(new ByteArrayOutputStream()));
+		limiter.limit(new MockHttpServletRequest(), BODY);
+		assertThrows(StreamCapacityExceededException.class, () -> limiter.limit(new MockHttpServletRequest(), BODY));
+	}
+}
@@ -0,0 +1,55 @@
+package br.edu.ufop.web.investments.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.repositories.projections.InvestmentLot;
+
+class AnalyticsTaskTest {
+
+	@Test
+	void parallelResultMatchesSequential() {
+		Random random = new Random(7);
+		AssetType[] types = AssetType.values();
+		List<InvestmentLot> lots = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			int symbol = random.nextInt(300);
+			lots.add(new InvestmentLot(
+					types[symbol % types.length],
+					"SYM" + symbol,
+					1 + random.nextInt(1_000),
+					BigDecimal.valueOf(1 + random.nextInt(100_000), 2),
+					LocalDate.of(2020, 1, 1).plusDays(random.nextInt(2_000))));
+		}
+		lots.sort(Comparator.comparing(InvestmentLot::symbol));
+		long today = LocalDate.of(2026, 1, 1).toEpochDay();
+
+		AnalyticsAccumulator sequential = new AnalyticsTask(lots, Integer.MAX_VALUE, today).invoke();
+		ForkJoinPool pool = new ForkJoinPool(4);
+		AnalyticsAccumulator parallel;
+		try {
+			parallel = pool.invoke(new AnalyticsTask(lots, 500, today));
+		} finally {
+			pool.shutdown();
+		}
+
+		assertEquals(sequential.costByType().toSummary(), parallel.costByType().toSummary());
+		assertEquals(sequential.positions(), parallel.positions());
+		assertEquals(300, parallel.positions().size());
+		assertEquals(sequential.lots(), parallel.lots());
+		assertEquals(sequential.minHoldingDays(), parallel.minHoldingDays());
+		assertEquals(sequential.maxHoldingDays(), parallel.maxHoldingDays());
+		assertEquals(sequential.averageHoldingDays(), parallel.averageHoldingDays(), 1e-9);
+		assertEquals(sequential.costWeightedAverageHoldingDays(), parallel.costWeightedAverageHoldingDays(), 1e-6);
+	}
+}
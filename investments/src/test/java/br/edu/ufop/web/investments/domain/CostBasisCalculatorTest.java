@@ -0,0 +1,62 @@
+package br.edu.ufop.web.investments.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ufop.web.investments.domain.CostBasisCalculator.OpenLot;
+import br.edu.ufop.web.investments.models.PositionState;
+
+class CostBasisCalculatorTest {
+
+	@Test
+	void sellsUnderFifoAndAverageCost() {
+		CostBasisCalculator calculator = new CostBasisCalculator(PositionState.empty(), List::of);
+		calculator.buy(10, new BigDecimal("10.00"));
+		calculator.buy(10, new BigDecimal("20.00"));
+		assertNull(calculator.lastRealizedFifo());
+
+		calculator.sell(15, new BigDecimal("25.00"));
+		// FIFO: 10 × 10 + 5 × 20 = 200 de custo; custo médio: 15 × 15 = 225
+		assertEquals(new BigDecimal("175.00"), calculator.lastRealizedFifo());
+		assertEquals(new BigDecimal("150.00"), calculator.lastRealizedAverage());
+
+		PositionState state = calculator.state();
+		assertEquals(5L, state.getPositionQuantity());
+		assertEquals(new BigDecimal("100.00"), state.getFifoCostBasis());
+		assertEquals(new BigDecimal("75.00"), state.getAverageCostBasis());
+
+		calculator.sell(5, new BigDecimal("10.00"));
+		assertEquals(new BigDecimal("0.00"), calculator.state().getFifoCostBasis());
+		assertEquals(new BigDecimal("0.00"), calculator.state().getAverageCostBasis());
+		assertEquals(new BigDecimal("125.00"), calculator.state().getTotalRealizedFifo());
+		assertEquals(new BigDecimal("125.00"), calculator.state().getTotalRealizedAverage());
+	}
+
+	@Test
+	void resumesFromStoredStateWithOpenLots() {
+		// Estado depois de comprar 10 a 10,00 e 10 a 20,00 e vender 15: resta metade do segundo lote
+		PositionState start = new PositionState(5L, 20L, 15L, new BigDecimal("100.00"), new BigDecimal("75.00"),
+				new BigDecimal("175.00"), new BigDecimal("150.00"));
+		CostBasisCalculator calculator = new CostBasisCalculator(start,
+				() -> List.of(new OpenLot(5, new BigDecimal("20.00"))));
+		calculator.buy(5, new BigDecimal("30.00"));
+
+		calculator.sell(6, new BigDecimal("30.00"));
+		assertEquals(new BigDecimal("50.00"), calculator.lastRealizedFifo()); // 5 × 20 + 1 × 30 de custo
+		assertEquals(4L, calculator.state().getPositionQuantity());
+		assertEquals(new BigDecimal("120.00"), calculator.state().getFifoCostBasis());
+	}
+
+	@Test
+	void rejectsSellingMoreThanThePosition() {
+		CostBasisCalculator calculator = new CostBasisCalculator(PositionState.empty(), List::of);
+		calculator.buy(3, new BigDecimal("1.00"));
+		assertThrows(IllegalArgumentException.class, () -> calculator.sell(4, new BigDecimal("1.00")));
+	}
+}
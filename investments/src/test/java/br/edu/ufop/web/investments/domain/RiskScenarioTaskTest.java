@@ -0,0 +1,70 @@
+package br.edu.ufop.web.investments.domain;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+class RiskScenarioTaskTest {
+
+	@Test
+	void sameSeedGivesSameLossesWithAnyParallelism() {
+		RiskModel model = new RiskModel(
+				new double[] { 1_000, 2_500, 400, 10_000 },
+				new int[] { 0, 0, 1, 2 },
+				new double[] { 0.0001, 0.0001, 0.0002, 0 },
+				new double[] { 0.01, 0.012, 0.03, 0.002 },
+				new double[] { 0.015, 0.01, 0.02, 0.001 },
+				new double[] { 0.8, 0.4, 0.2 },
+				new double[] { 0.6, 0.9165, 0.9798 });
+		int scenarios = 50_000;
+
+		double[] sequential = new double[scenarios];
+		double[][] sequentialByType = new double[3][scenarios];
+		new ForkJoinPool(1).invoke(new RiskScenarioTask(model, 1_000, 11, sequential, sequentialByType));
+
+		double[] parallel = new double[scenarios];
+		double[][] parallelByType = new double[3][scenarios];
+		new ForkJoinPool(8).invoke(new RiskScenarioTask(model, 1_000, 11, parallel, parallelByType));
+
+		assertArrayEquals(sequential, parallel);
+		for (int t = 0; t < 3; t++) {
+			assertArrayEquals(sequentialByType[t], parallelByType[t]);
+		}
+		for (int s = 0; s < scenarios; s++) {
+			assertEquals(parallel[s], parallelByType[0][s] + parallelByType[1][s] + parallelByType[2][s], 1e-9);
+		}
+	}
+
+	// Uma posição só: a perda segue 1 - exp(N(0, sigma)), com VaR e ES conhecidos
+	@Test
+	void singlePositionMatchesLognormalQuantiles() {
+		double sigma = 0.02;
+		RiskModel model = new RiskModel(
+				new double[] { 1_000 },
+				new int[] { 0 },
+				new double[] { 0 },
+				new double[] { sigma * 0.6 },
+				new double[] { sigma * 0.8 },
+				new double[] { 0.5 },
+				new double[] { Math.sqrt(0.75) });
+		double[] losses = new double[400_000];
+		new ForkJoinPool(4).invoke(new RiskScenarioTask(model, 4_096, 3, losses, new double[1][losses.length]));
+		Arrays.sort(losses);
+
+		double z99 = 2.3263;
+		double expectedVar = 1_000 * -Math.expm1(-z99 * sigma);
+		// ES normal: sigma * phi(z) / (1 - 0.99), aproximado na escala linear
+		double expectedEs = 1_000 * sigma * Math.exp(-z99 * z99 / 2) / Math.sqrt(2 * Math.PI) / 0.01;
+		assertEquals(expectedVar, LossDistribution.valueAtRisk(losses, 0.99), expectedVar * 0.02);
+		assertEquals(expectedEs, LossDistribution.expectedShortfall(losses, 0.99), expectedEs * 0.03);
+		// Drift logarítmico zero: o ganho médio é exp(sigma² / 2) - 1
+		assertEquals(-1_000 * Math.expm1(sigma * sigma / 2), LossDistribution.mean(losses), 0.1);
+
+		long[] histogram = LossDistribution.histogram(losses, 40);
+		assertEquals(losses.length, Arrays.stream(histogram).sum());
+	}
+}
@@ -0,0 +1,79 @@
+package br.edu.ufop.web.investments.domain;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+
+class SummaryAccumulatorTest {
+
+	@Test
+	void matchesBigDecimalSummary() {
+		Random random = new Random(42);
+		AssetType[] types = AssetType.values();
+		SummaryAccumulator accumulator = new SummaryAccumulator();
+		BigDecimal total = BigDecimal.ZERO;
+		Map<String, BigDecimal> totalByType = new HashMap<>();
+
+		for (int i = 0; i < 10_000; i++) {
+			AssetType type = types[random.nextInt(types.length - 1)]; // deixa RENDA_FIXA vazio
+			BigDecimal price = BigDecimal.valueOf(random.nextInt(1_000_000), random.nextInt(5));
+			int quantity = 1 + random.nextInt(10_000);
+			accumulator.add(type, price, quantity);
+			BigDecimal product = price.multiply(BigDecimal.valueOf(quantity));
+			total = total.add(product);
+			totalByType.merge(type.name(), BigDecimal.ZERO.add(product), BigDecimal::add);
+		}
+
+		assertEquals(new SummaryDTO(total, totalByType, 10_000), accumulator.toSummary());
+	}
+
+	@Test
+	void fallsBackToBigDecimalOnOverflow() {
+		SummaryAccumulator accumulator = new SummaryAccumulator();
+		BigDecimal price = new BigDecimal("9999999999999999.99");
+		accumulator.add(AssetType.ACAO, price, Integer.MAX_VALUE);
+		accumulator.add(AssetType.ACAO, price, Integer.MAX_VALUE);
+		accumulator.add(AssetType.ACAO, new BigDecimal("0.10"), 1);
+
+		BigDecimal expected = price.multiply(BigDecimal.valueOf(2L * Integer.MAX_VALUE)).add(new BigDecimal("0.10"));
+		assertEquals(expected, accumulator.total(AssetType.ACAO));
+
+		// Cada produto cabe no long, mas a soma não
+		BigDecimal large = new BigDecimal("900000000.00");
+		accumulator.add(AssetType.CRIPTO, large, 100_000_000);
+		accumulator.add(AssetType.CRIPTO, large, 100_000_000);
+		assertEquals(large.multiply(BigDecimal.valueOf(200_000_000)), accumulator.total(AssetType.CRIPTO));
+	}
+
+	@Test
+	void centsMatchAmountsWithScaleTwo() {
+		SummaryAccumulator cents = new SummaryAccumulator();
+		SummaryAccumulator amounts = new SummaryAccumulator();
+		cents.add(AssetType.FUNDO, new BigDecimal("1.5"), 3);
+		amounts.add(AssetType.FUNDO, new BigDecimal("1.5"), 3);
+		for (long value : new long[] { 12_345, Long.MAX_VALUE, 1, -7 }) {
+			cents.addCents(AssetType.FUNDO, value);
+			amounts.add(AssetType.FUNDO, BigDecimal.valueOf(value, 2));
+		}
+
+		assertEquals(amounts.total(AssetType.FUNDO), cents.total(AssetType.FUNDO));
+		assertEquals(5, cents.count(AssetType.FUNDO));
+
+		SummaryAccumulator zero = new SummaryAccumulator();
+		zero.addCents(AssetType.OUTRO, 0);
+		assertEquals(new BigDecimal("0.00"), zero.total(AssetType.OUTRO));
+	}
+
+	@Test
+	void emptySummaryIsZero() {
+		assertEquals(new SummaryDTO(BigDecimal.ZERO, Map.of(), 0), new SummaryAccumulator().toSummary());
+	}
+}
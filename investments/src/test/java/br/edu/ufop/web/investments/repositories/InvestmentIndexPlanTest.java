@@ -0,0 +1,200 @@
+package br.edu.ufop.web.investments.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.engine.jdbc.connections.internal.DatasourceConnectionProviderImpl;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.domain.InvestmentCursor;
+import br.edu.ufop.web.investments.dtos.InvestmentFilterDTO;
+import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Confere no PostgreSQL local (o mesmo dos demais testes) que os filtros de GET /investments usam índices
+// com a tabela em 1 milhão de linhas, divididas em 7 carteiras. As consultas são as que o Hibernate gera a
+// partir de InvestmentSpecifications, gravadas na conexão com os valores que a aplicação associou a cada
+// parâmetro e explicadas com esses mesmos valores, na transação em que as linhas foram inseridas.
+// As linhas são inseridas uma vez, numa transação da carteira consultada, e descartadas no fim.
+// Leva dezenas de segundos, por isso fica fora do mvn test: ./mvnw -Pindex-plan test
+@Tag("index-plan")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.connection.provider_class="
+		+ "br.edu.ufop.web.investments.repositories.InvestmentIndexPlanTest$RecordingConnectionProvider")
+class InvestmentIndexPlanTest {
+
+	private static final int ROWS = 1_000_000;
+	private static final String PORTFOLIO = "carteira-3";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private TransactionTemplate transactionTemplate;
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Test
+	void filterPathsUseIndexes() {
+		PortfolioContext.run(PORTFOLIO, () -> transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("""
+					INSERT INTO investments (id, portfolio, type, symbol, quantity, purchase_price, purchase_date, version)
+					SELECT gen_random_uuid(),
+					       'carteira-' || (i % 7),
+					       (ARRAY['ACAO', 'CRIPTO', 'FUNDO', 'RENDA_FIXA', 'OUTRO'])[1 + i % 5],
+					       'SYM' || (i % 5000),
+					       1 + i % 100,
+					       (i % 1000) + 0.5,
+					       DATE '2015-01-01' + (i % 3650),
+					       0
+					FROM generate_series(1, ?) AS i
+					""", ROWS);
+			jdbcTemplate.execute("ANALYZE investments");
+
+			typeFilteredPageUsesTypeIndex();
+			symbolPrefixUsesPatternIndex();
+			dateRangeUsesPurchaseDateIndex();
+			combinedFiltersRunAsOneIndexedQuery();
+			keysetPageStartsAtCursor();
+			status.setRollbackOnly();
+		}));
+	}
+
+	private void typeFilteredPageUsesTypeIndex() {
+		String plan = explain(() -> investmentService.getInvestmentsPage(filter("CRIPTO", null, null, null, null, null), null, 50));
+		assertUsesIndex(plan, "idx_investments_type_purchase_date_id");
+	}
+
+	private void symbolPrefixUsesPatternIndex() {
+		String plan = explain(() -> investmentService.getAllInvestments(filter(null, "SYM123", null, null, null, null)));
+		assertUsesIndex(plan, "idx_investments_symbol_pattern");
+	}
+
+	private void dateRangeUsesPurchaseDateIndex() {
+		String plan = explain(() -> investmentService.getAllInvestments(
+				filter(null, null, LocalDate.of(2020, 3, 1), LocalDate.of(2020, 3, 10), null, null)));
+		assertUsesIndex(plan, "idx_investments_purchase_date_id");
+	}
+
+	private void combinedFiltersRunAsOneIndexedQuery() {
+		String plan = explain(() -> investmentService.getAllInvestments(filter("ACAO", "SYM1",
+				LocalDate.of(2020, 1, 1), LocalDate.of(2020, 6, 30), new BigDecimal("100"), new BigDecimal("5000"))));
+		assertFalse(plan.contains("Seq Scan"), plan);
+		assertTrue(plan.contains("idx_investments_"), plan);
+	}
+
+	// Keyset depois de um cursor: o ">=" redundante na data faz a varredura começar no cursor
+	private void keysetPageStartsAtCursor() {
+		String after = new InvestmentCursor(LocalDate.of(2022, 1, 1), new UUID(0, 0)).encode();
+		String plan = explain(() -> investmentService.getInvestmentsPage(filter(null, null, null, null, null, null), after, 50));
+		assertUsesIndex(plan, "idx_investments_purchase_date_id");
+		assertTrue(plan.contains("Index Cond"), plan);
+	}
+
+	// Executa a consulta pela aplicação e explica o SQL que ela mandou ao banco, com os mesmos parâmetros
+	private String explain(Runnable query) {
+		RecordingConnectionProvider.STATEMENTS.clear();
+		query.run();
+		List<RecordedStatement> selects = RecordingConnectionProvider.STATEMENTS.stream()
+				.filter(statement -> statement.sql().startsWith("select") && statement.sql().contains(" from investments "))
+				.toList();
+		assertEquals(1, selects.size(), selects::toString);
+
+		RecordedStatement select = selects.get(0);
+		List<String> plan = jdbcTemplate.execute((ConnectionCallback<List<String>>) connection -> {
+			try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + select.sql())) {
+				for (Binding binding : select.bindings()) {
+					binding.apply(explain);
+				}
+				List<String> lines = new ArrayList<>();
+				try (ResultSet resultSet = explain.executeQuery()) {
+					while (resultSet.next()) {
+						lines.add(resultSet.getString(1));
+					}
+				}
+				return lines;
+			}
+		});
+		return select.sql() + "\n" + String.join("\n", plan);
+	}
+
+	private static InvestmentFilterDTO filter(String type, String symbol, LocalDate from, LocalDate to,
+			BigDecimal minValue, BigDecimal maxValue) {
+		return new InvestmentFilterDTO(type, symbol, from, to, minValue, maxValue);
+	}
+
+	private static void assertUsesIndex(String plan, String index) {
+		assertTrue(plan.contains(index), plan);
+		assertFalse(plan.contains("Seq Scan"), plan);
+	}
+
+	private interface Binding {
+
+		void apply(PreparedStatement statement) throws SQLException;
+	}
+
+	private record RecordedStatement(String sql, List<Binding> bindings) {
+	}
+
+	// Entrega ao Hibernate conexões que registram o SQL de cada PreparedStatement e as chamadas set* feitas nele
+	public static class RecordingConnectionProvider extends DatasourceConnectionProviderImpl {
+
+		static final List<RecordedStatement> STATEMENTS = Collections.synchronizedList(new ArrayList<>());
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			Connection connection = super.getConnection();
+			return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+					(proxy, method, args) -> {
+						Object result = invoke(connection, method, args);
+						if (!(result instanceof PreparedStatement statement) || !method.getName().equals("prepareStatement")) {
+							return result;
+						}
+						RecordedStatement recorded = new RecordedStatement((String) args[0], new ArrayList<>());
+						STATEMENTS.add(recorded);
+						return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class },
+								(statementProxy, statementMethod, statementArgs) -> {
+									if (statementMethod.getName().startsWith("set") && statementArgs != null
+											&& statementArgs.length >= 2 && statementArgs[0] instanceof Integer) {
+										recorded.bindings().add(target -> invoke(target, statementMethod, statementArgs));
+									}
+									return invoke(statement, statementMethod, statementArgs);
+								});
+					});
+		}
+
+		private static Object invoke(Object target, Method method, Object[] args) throws SQLException {
+			try {
+				return method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				if (e.getCause() instanceof SQLException sqlException) {
+					throw sqlException;
+				}
+				throw new IllegalStateException(e.getCause());
+			} catch (IllegalAccessException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+	}
+}
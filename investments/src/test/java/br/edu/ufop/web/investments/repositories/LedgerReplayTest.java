@@ -0,0 +1,159 @@
+package br.edu.ufop.web.investments.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.domain.CostBasisCalculator;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.dtos.TransactionRequestDTO;
+import br.edu.ufop.web.investments.dtos.TransactionResponseDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.TransactionSide;
+import br.edu.ufop.web.investments.models.LedgerPosition;
+import br.edu.ufop.web.investments.models.LedgerTransaction;
+import br.edu.ufop.web.investments.models.PositionState;
+import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.services.LedgerService;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// O livro mantido a cada escrita (no fim do histórico, incremental; fora dele, recalculado a partir da data)
+// bate com o recálculo de todo o histórico do símbolo, transação a transação; uma venda maior que a posição
+// desfaz a escrita inteira
+@SpringBootTest
+class LedgerReplayTest {
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private LedgerService ledgerService;
+
+	@Autowired
+	private LedgerTransactionRepository transactionRepository;
+
+	@Autowired
+	private LedgerPositionRepository positionRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Test
+	void backDatedWritesMatchTheFullRecompute() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		create(portfolio, lot(10, "30.00", 2024, 1, 2));
+		InvestmentResponseDTO march = create(portfolio, lot(10, "40.00", 2024, 3, 1));
+		TransactionResponseDTO april = sell(portfolio, 5, "50.00", 2024, 4, 1);
+		assertMatchesFullRecompute(portfolio, 15);
+
+		// Compra e venda retroativas
+		InvestmentResponseDTO february = create(portfolio, lot(10, "20.00", 2024, 2, 1));
+		assertMatchesFullRecompute(portfolio, 25);
+		TransactionResponseDTO january = sell(portfolio, 5, "35.00", 2024, 1, 15);
+		assertMatchesFullRecompute(portfolio, 20);
+
+		// Edições que mudam a data para antes de outras transações
+		PortfolioContext.call(portfolio, () -> ledgerService.updateTransaction(april.id(),
+				new TransactionRequestDTO(TransactionSide.SELL, "PETR4", 8, new BigDecimal("45.00"), LocalDate.of(2024, 2, 15))));
+		assertMatchesFullRecompute(portfolio, 17);
+		PortfolioContext.call(portfolio, () -> investmentService.updateInvestment(march.id(), lot(6, "38.00", 2024, 1, 10), null));
+		assertMatchesFullRecompute(portfolio, 13);
+
+		// Exclusões no meio do histórico
+		PortfolioContext.run(portfolio, () -> ledgerService.deleteTransaction(january.id()));
+		assertMatchesFullRecompute(portfolio, 18);
+		PortfolioContext.run(portfolio, () -> investmentService.deleteInvestment(february.id()));
+		assertMatchesFullRecompute(portfolio, 8);
+	}
+
+	@Test
+	void saleBeyondThePositionRollsBack() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		create(portfolio, lot(10, "30.00", 2024, 1, 2));
+		InvestmentResponseDTO march = create(portfolio, lot(10, "40.00", 2024, 3, 1));
+		sell(portfolio, 15, "50.00", 2024, 4, 1);
+		List<Object> before = ledgerRows(portfolio);
+
+		// No fim do histórico; antes dele, faltando posição para a venda seguinte; e ao remover a compra que a cobria
+		assertThrows(IllegalArgumentException.class, () -> sell(portfolio, 10, "50.00", 2024, 5, 1));
+		assertThrows(IllegalArgumentException.class, () -> sell(portfolio, 6, "35.00", 2024, 2, 1));
+		assertThrows(IllegalArgumentException.class,
+				() -> PortfolioContext.run(portfolio, () -> investmentService.deleteInvestment(march.id())));
+
+		assertEquals(before, ledgerRows(portfolio));
+		assertEquals(10, PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(march.id())).quantity());
+		assertMatchesFullRecompute(portfolio, 5);
+	}
+
+	// Refaz o histórico do símbolo desde a posição vazia e compara cada stateAfter e a linha de ledger_positions
+	private void assertMatchesFullRecompute(String portfolio, long expectedQuantity) {
+		PortfolioContext.run(portfolio, () -> readOnly().executeWithoutResult(status -> {
+			List<LedgerTransaction> transactions = transactionRepository.findBySymbolOrderByTradeDateAscSequenceAsc("PETR4");
+			CostBasisCalculator calculator = new CostBasisCalculator(PositionState.empty(), List::of);
+			for (LedgerTransaction transaction : transactions) {
+				if (transaction.getSide() == TransactionSide.BUY) {
+					calculator.buy(transaction.getQuantity(), transaction.getPrice());
+				} else {
+					calculator.sell(transaction.getQuantity(), transaction.getPrice());
+					assertAmount(calculator.lastRealizedFifo(), transaction.getRealizedFifo());
+					assertAmount(calculator.lastRealizedAverage(), transaction.getRealizedAverage());
+				}
+				assertSameState(calculator.state(), transaction.getStateAfter());
+			}
+
+			LedgerPosition position = positionRepository.findAll().get(0);
+			assertSameState(calculator.state(), position.getState());
+			assertEquals(expectedQuantity, position.getState().getPositionQuantity());
+			assertEquals(transactions.get(transactions.size() - 1).getTradeDate(), position.getLastTradeDate());
+		}));
+	}
+
+	private List<Object> ledgerRows(String portfolio) {
+		return PortfolioContext.call(portfolio, () -> readOnly().execute(status -> List.of(
+				ledgerService.getTransactions("PETR4"), positionRepository.findAll().get(0).getState())));
+	}
+
+	private TransactionTemplate readOnly() {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(true);
+		return template;
+	}
+
+	private static void assertSameState(PositionState expected, PositionState actual) {
+		assertEquals(expected.getPositionQuantity(), actual.getPositionQuantity());
+		assertEquals(expected.getCumulativeBought(), actual.getCumulativeBought());
+		assertEquals(expected.getCumulativeSold(), actual.getCumulativeSold());
+		assertAmount(expected.getFifoCostBasis(), actual.getFifoCostBasis());
+		assertAmount(expected.getAverageCostBasis(), actual.getAverageCostBasis());
+		assertAmount(expected.getTotalRealizedFifo(), actual.getTotalRealizedFifo());
+		assertAmount(expected.getTotalRealizedAverage(), actual.getTotalRealizedAverage());
+	}
+
+	private static void assertAmount(BigDecimal expected, BigDecimal actual) {
+		assertEquals(0, expected.compareTo(actual), () -> "esperado " + expected + ", obtido " + actual);
+	}
+
+	private InvestmentResponseDTO create(String portfolio, InvestmentRequestDTO request) {
+		return PortfolioContext.call(portfolio, () -> investmentService.createInvestment(request));
+	}
+
+	private TransactionResponseDTO sell(String portfolio, int quantity, String price, int year, int month, int day) {
+		return PortfolioContext.call(portfolio, () -> ledgerService.createTransaction(new TransactionRequestDTO(
+				TransactionSide.SELL, "PETR4", quantity, new BigDecimal(price), LocalDate.of(year, month, day))));
+	}
+
+	private static InvestmentRequestDTO lot(int quantity, String price, int year, int month, int day) {
+		return new InvestmentRequestDTO(AssetType.ACAO, "PETR4", quantity, new BigDecimal(price), LocalDate.of(year, month, day));
+	}
+}
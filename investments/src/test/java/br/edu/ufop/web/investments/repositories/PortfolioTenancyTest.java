@@ -0,0 +1,81 @@
+package br.edu.ufop.web.investments.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.ufop.web.investments.dtos.InvestmentFilterDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.repositories.projections.SymbolPrice;
+import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import jakarta.persistence.EntityNotFoundException;
+
+// Cada carteira só enxerga os próprios lotes: listagem, resumo (e seu cache), consulta e exclusão por ID;
+// as consultas de manutenção (preços de referência do simulador) veem todas.
+// Sem @Transactional: a carteira é fixada quando a sessão abre, então cada chamada precisa da sua transação.
+@SpringBootTest
+class PortfolioTenancyTest {
+
+	private static final InvestmentFilterDTO NO_FILTER = new InvestmentFilterDTO(null, null, null, null, null, null);
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private InvestmentRepository investmentRepository;
+
+	@Test
+	void portfoliosSeeOnlyTheirOwnInvestments() {
+		String first = "teste-" + UUID.randomUUID();
+		String second = "teste-" + UUID.randomUUID();
+
+		InvestmentResponseDTO created = PortfolioContext.call(first, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.ACAO, "PETR4", 10, new BigDecimal("30.00"), LocalDate.of(2024, 1, 2))));
+		PortfolioContext.call(second, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.ACAO, "PETR4", 5, new BigDecimal("60.00"), LocalDate.of(2024, 1, 2))));
+		PortfolioContext.call(second, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.CRIPTO, "BTC", 1, new BigDecimal("100.00"), LocalDate.of(2024, 1, 3))));
+
+		SummaryDTO firstSummary = PortfolioContext.call(first, investmentService::getSummary);
+		SummaryDTO secondSummary = PortfolioContext.call(second, investmentService::getSummary);
+		assertEquals(0, new BigDecimal("300.00").compareTo(firstSummary.totalInvested()));
+		assertEquals(1, firstSummary.assetCount());
+		assertEquals(0, new BigDecimal("400.00").compareTo(secondSummary.totalInvested()));
+		assertEquals(2, secondSummary.assetCount());
+		assertEquals(1, PortfolioContext.call(first, () -> investmentService.getAllInvestments(NO_FILTER)).size());
+
+		UUID id = created.id();
+		assertEquals(id, PortfolioContext.call(first, () -> investmentService.getInvestmentById(id)).id());
+		assertThrows(EntityNotFoundException.class,
+				() -> PortfolioContext.call(second, () -> investmentService.getInvestmentById(id)));
+		assertThrows(EntityNotFoundException.class,
+				() -> PortfolioContext.run(second, () -> investmentService.deleteInvestment(id)));
+		assertEquals(1, PortfolioContext.call(first, investmentService::getSummary).assetCount());
+	}
+
+	// O simulador de cotações lê os preços de referência sem carteira no contexto: precisa ver todas
+	@Test
+	void referencePricesCoverEveryPortfolio() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		String symbol = "REF" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+		PortfolioContext.call(portfolio, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.ACAO, symbol, 3, new BigDecimal("42.50"), LocalDate.of(2024, 1, 2))));
+
+		assertTrue(investmentRepository.findReferencePrices().stream()
+				.filter(price -> price.getSymbol().equals(symbol))
+				.map(SymbolPrice::getPrice)
+				.anyMatch(price -> price.compareTo(new BigDecimal("42.50")) == 0));
+	}
+}
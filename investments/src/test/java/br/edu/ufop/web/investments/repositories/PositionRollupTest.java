@@ -0,0 +1,77 @@
+package br.edu.ufop.web.investments.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import br.edu.ufop.web.investments.dtos.InvestmentBatchUpdateItemDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.dtos.PositionDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.services.InvestmentBatchService;
+import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.services.PositionRollupService;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// As posições mantidas a cada escrita batem com os lotes depois de criar, alterar (inclusive o símbolo) e remover
+@SpringBootTest
+class PositionRollupTest {
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private InvestmentBatchService investmentBatchService;
+
+	@Autowired
+	private PositionRollupService positionRollupService;
+
+	@Test
+	void positionsFollowLotWrites() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentResponseDTO first = create(portfolio, lot("PETR4", 10, "30.00", 2024, 1, 2));
+		InvestmentResponseDTO last = create(portfolio, lot("PETR4", 5, "36.00", 2024, 3, 5));
+		create(portfolio, lot("PETR4", 5, "33.00", 2024, 2, 1));
+		InvestmentResponseDTO moved = create(portfolio, lot("VALE3", 4, "60.00", 2024, 1, 10));
+		PortfolioContext.call(portfolio, () -> investmentBatchService.createInvestments(List.of(
+				lot("BBAS3", 100, "25.00", 2024, 4, 1), lot("BBAS3", 100, "27.00", 2024, 4, 2))));
+
+		List<PositionDTO> positions = PortfolioContext.call(portfolio, () -> positionRollupService.getPositions(null));
+		assertEquals(List.of(
+				new PositionDTO("BBAS3", AssetType.ACAO, 200L, new BigDecimal("5200.00"), new BigDecimal("26.00"), 2L,
+						LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 2)),
+				new PositionDTO("PETR4", AssetType.ACAO, 20L, new BigDecimal("645.00"), new BigDecimal("32.25"), 3L,
+						LocalDate.of(2024, 1, 2), LocalDate.of(2024, 3, 5)),
+				new PositionDTO("VALE3", AssetType.ACAO, 4L, new BigDecimal("240.00"), new BigDecimal("60.00"), 1L,
+						LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 10))), positions);
+
+		// Remover os lotes das pontas recalcula as datas; mudar o símbolo move o lote de posição
+		PortfolioContext.run(portfolio, () -> investmentService.deleteInvestment(first.id()));
+		PortfolioContext.run(portfolio, () -> investmentBatchService.deleteInvestments(List.of(last.id())));
+		PortfolioContext.call(portfolio, () -> investmentBatchService.updateInvestments(List.of(
+				new InvestmentBatchUpdateItemDTO(moved.id(), lot("BBAS3", 4, "26.00", 2024, 5, 1), null))));
+
+		positions = PortfolioContext.call(portfolio, () -> positionRollupService.getPositions("acao"));
+		assertEquals(List.of(
+				new PositionDTO("BBAS3", AssetType.ACAO, 204L, new BigDecimal("5304.00"), new BigDecimal("26.00"), 3L,
+						LocalDate.of(2024, 4, 1), LocalDate.of(2024, 5, 1)),
+				new PositionDTO("PETR4", AssetType.ACAO, 5L, new BigDecimal("165.00"), new BigDecimal("33.00"), 1L,
+						LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 1))), positions);
+	}
+
+	private InvestmentResponseDTO create(String portfolio, InvestmentRequestDTO request) {
+		return PortfolioContext.call(portfolio, () -> investmentService.createInvestment(request));
+	}
+
+	private static InvestmentRequestDTO lot(String symbol, int quantity, String price, int year, int month, int day) {
+		return new InvestmentRequestDTO(AssetType.ACAO, symbol, quantity, new BigDecimal(price), LocalDate.of(year, month, day));
+	}
+}
@@ -0,0 +1,68 @@
+package br.edu.ufop.web.investments.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.replication.ReplicaHealthCheck;
+import br.edu.ufop.web.investments.replication.ReplicaRoutingDataSource;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// O banco investiments_shard1, no mesmo PostgreSQL local, faz o papel de réplica: o nome do banco da conexão
+// mostra para onde cada transação foi. A segunda réplica aponta para uma porta sem servidor.
+@SpringBootTest(properties = {
+		"investments.replication.enabled=true",
+		"investments.replication.replicas[0].url=jdbc:postgresql://localhost:5434/investiments_shard1",
+		"investments.replication.replicas[1].url=jdbc:postgresql://localhost:1/investiments",
+		"investments.replication.read-your-writes=1h",
+		"investments.replication.health-check-interval-ms=3600000" })
+class ReadReplicaRoutingTest {
+
+	private static final String PRIMARY = "investiments";
+	private static final String REPLICA = "investiments_shard1";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ReplicaRoutingDataSource dataSource;
+
+	@Autowired
+	private ReplicaHealthCheck healthCheck;
+
+	@Test
+	void readOnlyTransactionsGoToHealthyReplicas() {
+		healthCheck.check();
+		assertEquals(1, dataSource.healthyReplicas());
+
+		assertEquals(PRIMARY, PortfolioContext.call("gravador", () -> database(false)));
+		for (int i = 0; i < 4; i++) {
+			assertEquals(REPLICA, PortfolioContext.call("leitor", () -> database(true)));
+		}
+		assertEquals(PRIMARY, jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+	}
+
+	@Test
+	void readsFollowTheClientsOwnWritesToThePrimary() {
+		healthCheck.check();
+
+		assertEquals(REPLICA, PortfolioContext.call("escritor", () -> database(true)));
+		PortfolioContext.call("escritor", () -> database(false));
+		assertEquals(PRIMARY, PortfolioContext.call("escritor", () -> database(true)));
+		assertEquals(REPLICA, PortfolioContext.call("outro-leitor", () -> database(true)));
+	}
+
+	private String database(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		return template.execute(status -> jdbcTemplate.queryForObject("SELECT current_database()", String.class));
+	}
+}
@@ -0,0 +1,72 @@
+package br.edu.ufop.web.investments.repositories;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.services.InvestmentService;
+import br.edu.ufop.web.investments.services.PositionRollupService;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// As migrações de db/migration, aplicadas do zero num schema à parte do PostgreSQL local, criam o schema que as
+// entidades esperam: com ddl-auto=validate o contexto nem sobe se faltar tabela ou coluna.
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:postgresql://localhost:5434/investiments?currentSchema=migration_check",
+		"spring.flyway.enabled=true",
+		"spring.flyway.default-schema=migration_check",
+		"spring.flyway.clean-disabled=false",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.hbm2ddl.import_files=" })
+class SchemaMigrationTest {
+
+	@TestConfiguration
+	static class CleanMigration {
+
+		@Bean
+		FlywayMigrationStrategy cleanMigrate() {
+			return flyway -> {
+				flyway.clean();
+				flyway.migrate();
+			};
+		}
+	}
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private PositionRollupService positionRollupService;
+
+	@Test
+	void migrationsMatchTheEntities() {
+		List<String> indexes = jdbcTemplate.queryForList(
+				"SELECT indexname FROM pg_indexes WHERE schemaname = 'migration_check'", String.class);
+		assertTrue(indexes.containsAll(List.of("idx_investments_symbol_pattern", "idx_investment_outbox_pending",
+				"idx_investments_type_purchase_date_id", "idx_ledger_transactions_symbol_order")), indexes.toString());
+
+		String portfolio = "migracao-" + UUID.randomUUID();
+		InvestmentRequestDTO request = new InvestmentRequestDTO(AssetType.ACAO, "VALE3", 10, new BigDecimal("61.50"), LocalDate.of(2024, 3, 1));
+		PortfolioContext.run(portfolio, () -> investmentService.createInvestment(request));
+
+		assertEquals(1, PortfolioContext.call(portfolio, () -> positionRollupService.getPositions(null)).size());
+		assertEquals(1, jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM migration_check.investment_outbox WHERE portfolio = ?", Integer.class, portfolio));
+	}
+}
@@ -0,0 +1,93 @@
+package br.edu.ufop.web.investments.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import br.edu.ufop.web.investments.config.CacheConfig;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.dtos.SummaryDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.services.outbox.OutboxDispatcher;
+import br.edu.ufop.web.investments.services.outbox.OutboxFanOut;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Uma escrita remove do cache só o investimento escrito e o resumo da carteira dele, logo após o commit;
+// o evento da escrita, repassado pelo outbox, remove de novo em todas as instâncias. O despacho agendado
+// fica praticamente parado (src/test/resources/config), para o teste despachar sozinho
+@SpringBootTest
+class CacheInvalidationTest {
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private OutboxDispatcher outboxDispatcher;
+
+	@Autowired
+	private OutboxFanOut outboxFanOut;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Test
+	void writeEvictsOnlyTheWrittenInvestmentAndTheSummary() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentResponseDTO first = create(portfolio, "PETR4", 10);
+		InvestmentResponseDTO second = create(portfolio, "VALE3", 5);
+		PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(first.id()));
+		PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(second.id()));
+		PortfolioContext.call(portfolio, investmentService::getSummary);
+
+		update(portfolio, first.id(), 20);
+
+		Cache investments = cacheManager.getCache(CacheConfig.INVESTMENTS_CACHE);
+		assertNull(investments.get(PortfolioContext.cacheKey(portfolio, first.id())));
+		assertNotNull(investments.get(PortfolioContext.cacheKey(portfolio, second.id())));
+		assertNull(cacheManager.getCache(CacheConfig.SUMMARY_CACHE).get(PortfolioContext.portfolioCacheKey(portfolio)));
+		assertEquals(20, PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(first.id())).quantity());
+	}
+
+	// Valor antigo no cache depois do commit: posto por uma leitura que começou antes da escrita, ou
+	// presente numa instância que não fez a escrita. O evento da escrita, pelo outbox, o remove
+	@Test
+	void outboxEventEvictsStaleValues() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentResponseDTO created = create(portfolio, "PETR4", 10);
+		SummaryDTO staleSummary = PortfolioContext.call(portfolio, investmentService::getSummary);
+
+		update(portfolio, created.id(), 20);
+		create(portfolio, "BTC", 1);
+		cacheManager.getCache(CacheConfig.SUMMARY_CACHE).put(PortfolioContext.portfolioCacheKey(portfolio), staleSummary);
+		cacheManager.getCache(CacheConfig.INVESTMENTS_CACHE).put(PortfolioContext.cacheKey(portfolio, created.id()), created);
+
+		outboxDispatcher.dispatch();
+		outboxFanOut.deliver();
+
+		SummaryDTO summary = PortfolioContext.call(portfolio, investmentService::getSummary);
+		assertEquals(2, summary.assetCount());
+		assertEquals(0, new BigDecimal("630.00").compareTo(summary.totalInvested()));
+		assertEquals(20, PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(created.id())).quantity());
+	}
+
+	private InvestmentResponseDTO create(String portfolio, String symbol, int quantity) {
+		return PortfolioContext.call(portfolio, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.ACAO, symbol, quantity, new BigDecimal("30.00"), LocalDate.of(2024, 1, 2))));
+	}
+
+	private void update(String portfolio, UUID id, int quantity) {
+		PortfolioContext.call(portfolio, () -> investmentService.updateInvestment(id,
+				new InvestmentRequestDTO(AssetType.ACAO, "PETR4", quantity, new BigDecimal("30.00"), LocalDate.of(2024, 1, 2)), null));
+	}
+}
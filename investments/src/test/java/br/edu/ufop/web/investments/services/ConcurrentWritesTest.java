@@ -0,0 +1,218 @@
+package br.edu.ufop.web.investments.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.edu.ufop.web.investments.dtos.InvestmentFilterDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.exceptions.PreconditionFailedException;
+import br.edu.ufop.web.investments.repositories.InvestmentRepository;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+
+// Versão otimista nas atualizações e Idempotency-Key nas criações, em uma carteira própria do teste: primeiro
+// repetidas uma depois da outra, depois em duas threads ao mesmo tempo
+@SpringBootTest
+class ConcurrentWritesTest {
+
+	private static final InvestmentFilterDTO NO_FILTER = new InvestmentFilterDTO(null, null, null, null, null, null);
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
+	@Autowired
+	private InvestmentRepository investmentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void retriedCreateWithSameKeyCreatesOnce() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentRequestDTO request = new InvestmentRequestDTO(AssetType.ACAO, "VALE3", 10, new BigDecimal("60.00"), LocalDate.of(2024, 1, 2));
+
+		InvestmentResponseDTO first = PortfolioContext.call(portfolio, () -> create("chave-1", request));
+		InvestmentResponseDTO retried = PortfolioContext.call(portfolio, () -> create("chave-1", request));
+		assertEquals(first, retried);
+		assertEquals(1, PortfolioContext.call(portfolio, () -> investmentService.getAllInvestments(NO_FILTER)).size());
+
+		InvestmentRequestDTO other = new InvestmentRequestDTO(AssetType.ACAO, "VALE3", 20, new BigDecimal("60.00"), LocalDate.of(2024, 1, 2));
+		assertThrows(IllegalArgumentException.class, () -> PortfolioContext.call(portfolio, () -> create("chave-1", other)));
+	}
+
+	@Test
+	void staleVersionIsRejected() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentRequestDTO request = new InvestmentRequestDTO(AssetType.CRIPTO, "ETH", 2, new BigDecimal("900.00"), LocalDate.of(2024, 1, 2));
+		InvestmentResponseDTO created = PortfolioContext.call(portfolio, () -> investmentService.createInvestment(request));
+		assertEquals(0L, created.version());
+
+		InvestmentRequestDTO firstEdit = new InvestmentRequestDTO(AssetType.CRIPTO, "ETH", 3, new BigDecimal("900.00"), LocalDate.of(2024, 1, 2));
+		InvestmentResponseDTO updated = PortfolioContext.call(portfolio,
+				() -> investmentService.updateInvestment(created.id(), firstEdit, created.version()));
+		assertEquals(1L, updated.version());
+
+		// Segunda edição a partir da mesma leitura: sobrescreveria a primeira
+		InvestmentRequestDTO secondEdit = new InvestmentRequestDTO(AssetType.CRIPTO, "ETH", 4, new BigDecimal("900.00"), LocalDate.of(2024, 1, 2));
+		assertThrows(PreconditionFailedException.class, () -> PortfolioContext.call(portfolio,
+				() -> investmentService.updateInvestment(created.id(), secondEdit, created.version())));
+		assertEquals(1L, PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(created.id())).version());
+	}
+
+	// A segunda criação chega enquanto a primeira ainda não fez commit: o INSERT ... ON CONFLICT dela espera pela
+	// linha da chave e, depois do commit, devolve a resposta gravada em vez de criar de novo
+	@Test
+	void simultaneousCreatesWithSameKeyCreateOnce() throws Exception {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentRequestDTO request = new InvestmentRequestDTO(AssetType.ACAO, "ITUB4", 10, new BigDecimal("32.00"), LocalDate.of(2024, 1, 2));
+		AtomicInteger creations = new AtomicInteger();
+		CountDownLatch secondStarting = new CountDownLatch(1);
+
+		List<InvestmentResponseDTO> responses = inParallel(
+				() -> PortfolioContext.call(portfolio, () -> idempotencyService.execute("chave-1", "POST /investments",
+						request, InvestmentResponseDTO.class, () -> {
+							creations.incrementAndGet();
+							secondStarting.countDown();
+							awaitBlockedStatement();
+							return investmentService.createInvestment(request);
+						})),
+				() -> {
+					await(secondStarting);
+					return PortfolioContext.call(portfolio, () -> idempotencyService.execute("chave-1", "POST /investments",
+							request, InvestmentResponseDTO.class, () -> {
+								creations.incrementAndGet();
+								return investmentService.createInvestment(request);
+							}));
+				});
+
+		assertEquals(1, creations.get());
+		assertEquals(responses.get(0), responses.get(1));
+		assertEquals(1, PortfolioContext.call(portfolio, () -> investmentService.getAllInvestments(NO_FILTER)).size());
+	}
+
+	// Dois PUTs sem If-Match que leram a mesma versão: o segundo UPDATE ... WHERE version espera pelo primeiro
+	// e, depois do commit dele, não encontra mais a versão lida
+	@Test
+	void overlappingUpdatesWithoutIfMatchKeepOne() throws Exception {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentResponseDTO created = PortfolioContext.call(portfolio, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.CRIPTO, "SOL", 2, new BigDecimal("150.00"), LocalDate.of(2024, 1, 2))));
+		CountDownLatch bothRead = new CountDownLatch(2);
+
+		List<Future<InvestmentResponseDTO>> updates = new ArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			for (int quantity : new int[] { 3, 4 }) {
+				InvestmentRequestDTO edit = new InvestmentRequestDTO(AssetType.CRIPTO, "SOL", quantity, new BigDecimal("150.00"), LocalDate.of(2024, 1, 2));
+				updates.add(executor.submit(() -> PortfolioContext.call(portfolio, () -> new TransactionTemplate(transactionManager).execute(status -> {
+					// A leitura fica no contexto de persistência; o PUT parte dela, como se tivesse lido junto com o outro
+					investmentRepository.findById(created.id()).orElseThrow();
+					bothRead.countDown();
+					await(bothRead);
+					return investmentService.updateInvestment(created.id(), edit, null);
+				}))));
+			}
+
+			List<InvestmentResponseDTO> succeeded = new ArrayList<>();
+			List<Throwable> failed = new ArrayList<>();
+			for (Future<InvestmentResponseDTO> update : updates) {
+				try {
+					succeeded.add(update.get(30, TimeUnit.SECONDS));
+				} catch (ExecutionException e) {
+					failed.add(e.getCause());
+				}
+			}
+			assertEquals(1, succeeded.size());
+			assertEquals(1, failed.size());
+			assertInstanceOf(ObjectOptimisticLockingFailureException.class, failed.get(0));
+
+			InvestmentResponseDTO current = PortfolioContext.call(portfolio, () -> investmentService.getInvestmentById(created.id()));
+			assertEquals(1L, current.version());
+			assertEquals(succeeded.get(0).quantity(), current.quantity());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// Executa as duas ações em threads próprias e devolve os resultados na ordem delas
+	@SafeVarargs
+	private static <T> List<T> inParallel(Callable<T>... actions) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(actions.length);
+		try {
+			List<Future<T>> futures = new ArrayList<>();
+			for (Callable<T> action : actions) {
+				futures.add(executor.submit(action));
+			}
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get(30, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	// Espera algum comando do banco ficar bloqueado por um lock (aqui, o INSERT da mesma chave pela outra thread)
+	private void awaitBlockedStatement() {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+		while (jdbcTemplate.queryForObject("SELECT count(*) FROM pg_stat_activity WHERE wait_event_type = 'Lock'", Integer.class) == 0) {
+			assertTrue(System.nanoTime() < deadline, "A outra criação não chegou a esperar pela chave");
+			sleep(10);
+		}
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(10, TimeUnit.SECONDS), "A outra thread não chegou ao ponto combinado");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private InvestmentResponseDTO create(String key, InvestmentRequestDTO request) {
+		return idempotencyService.execute(key, "POST /investments", request, InvestmentResponseDTO.class,
+				() -> investmentService.createInvestment(request));
+	}
+}
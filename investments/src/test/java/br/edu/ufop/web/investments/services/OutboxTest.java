@@ -0,0 +1,102 @@
+package br.edu.ufop.web.investments.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.dtos.InvestmentResponseDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+import br.edu.ufop.web.investments.enums.InvestmentChangeType;
+import br.edu.ufop.web.investments.events.InvestmentsChangedEvent;
+import br.edu.ufop.web.investments.services.outbox.OutboxDispatcher;
+import br.edu.ufop.web.investments.services.outbox.OutboxFanOut;
+import br.edu.ufop.web.investments.tenancy.PortfolioContext;
+import jakarta.persistence.EntityNotFoundException;
+
+// Cada escrita confirmada deixa uma linha no outbox, e só ela; o despachante a marca como publicada, e o
+// repasse da instância a entrega uma vez aos ouvintes da aplicação.
+// O despacho agendado fica praticamente parado (src/test/resources/config), para o teste despachar sozinho
+@SpringBootTest
+@RecordApplicationEvents
+class OutboxTest {
+
+	@Autowired
+	private InvestmentService investmentService;
+
+	@Autowired
+	private OutboxDispatcher outboxDispatcher;
+
+	@Autowired
+	private OutboxFanOut outboxFanOut;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private ApplicationEvents applicationEvents;
+
+	@Test
+	void writesAppendOneEventEachAndAreDispatched() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentRequestDTO request = new InvestmentRequestDTO(AssetType.FUNDO, "HGLG11", 5, new BigDecimal("160.00"), LocalDate.of(2024, 1, 2));
+		InvestmentResponseDTO created = PortfolioContext.call(portfolio, () -> investmentService.createInvestment(request));
+		PortfolioContext.run(portfolio, () -> investmentService.deleteInvestment(created.id()));
+		// Escrita desfeita: o evento vai junto
+		assertThrows(EntityNotFoundException.class,
+				() -> PortfolioContext.run(portfolio, () -> investmentService.deleteInvestment(created.id())));
+
+		outboxDispatcher.dispatch();
+
+		List<Map<String, Object>> events = jdbcTemplate.queryForList("""
+				SELECT change_type, investment_ids[1] AS investment_id, published_at
+				FROM investment_outbox WHERE portfolio = ? ORDER BY id
+				""", portfolio);
+		assertEquals(2, events.size());
+		assertEquals("CREATED", events.get(0).get("change_type"));
+		assertEquals("DELETED", events.get(1).get("change_type"));
+		events.forEach(event -> {
+			assertEquals(created.id(), event.get("investment_id"));
+			assertTrue(event.get("published_at") != null);
+		});
+	}
+
+	// Só eventos já publicados são repassados, cada um uma vez, mesmo relidos dentro da margem
+	@Test
+	void publishedEventsReachLocalListenersOnce() {
+		String portfolio = "teste-" + UUID.randomUUID();
+		InvestmentResponseDTO created = PortfolioContext.call(portfolio, () -> investmentService.createInvestment(
+				new InvestmentRequestDTO(AssetType.ACAO, "WEGE3", 2, new BigDecimal("40.00"), LocalDate.of(2024, 1, 2))));
+
+		outboxFanOut.deliver();
+		assertEquals(0, eventsOf(portfolio).size());
+
+		outboxDispatcher.dispatch();
+		outboxFanOut.deliver();
+		outboxFanOut.deliver();
+
+		List<InvestmentsChangedEvent> events = eventsOf(portfolio);
+		assertEquals(1, events.size());
+		assertEquals(InvestmentChangeType.CREATED, events.get(0).change());
+		assertEquals(List.of(created.id()), events.get(0).investmentIds());
+	}
+
+	private List<InvestmentsChangedEvent> eventsOf(String portfolio) {
+		return applicationEvents.stream(InvestmentsChangedEvent.class)
+				.filter(event -> event.portfolio().equals(portfolio))
+				.toList();
+	}
+}
@@ -0,0 +1,126 @@
+package br.edu.ufop.web.investments.services.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+
+class CsvRowReaderTest {
+
+	@Test
+	void readsRowsWithColumnsInAnyOrder() throws IOException {
+		List<ImportRow> rows = read("""
+				symbol,purchaseDate,type,purchasePrice,quantity
+				PETR4,2024-01-02,acao,12.50,10
+				""");
+
+		assertEquals(1, rows.size());
+		assertEquals(2, rows.get(0).line());
+		assertEquals(new InvestmentRequestDTO(AssetType.ACAO, "PETR4", 10, new BigDecimal("12.50"),
+				LocalDate.of(2024, 1, 2)), rows.get(0).request());
+	}
+
+	@Test
+	void quotedFieldsKeepSeparatorsAndEscapedQuotes() throws IOException {
+		List<ImportRow> rows = read("""
+				type,symbol,quantity,purchasePrice,purchaseDate
+				FUNDO,"HGLG11, FII",5,160.00,2024-01-02
+				OUTRO,"OURO ""24K"" BARRA",1,300.00,2024-01-02
+				""");
+
+		assertEquals("HGLG11, FII", rows.get(0).request().symbol());
+		assertEquals("OURO \"24K\" BARRA", rows.get(1).request().symbol());
+	}
+
+	@Test
+	void acceptsCrlfAndSkipsBlankLinesKeepingLineNumbers() throws IOException {
+		List<ImportRow> rows = read("type,symbol,quantity,purchasePrice,purchaseDate\r\n"
+				+ "\r\n"
+				+ "ACAO,VALE3,3,60.10,2024-01-02\r\n"
+				+ "   \r\n"
+				+ "CRIPTO,BTC,1,300000.00,2024-02-03\r\n");
+
+		assertEquals(2, rows.size());
+		assertEquals(3, rows.get(0).line());
+		assertEquals(LocalDate.of(2024, 1, 2), rows.get(0).request().purchaseDate());
+		assertEquals(5, rows.get(1).line());
+		assertEquals(LocalDate.of(2024, 2, 3), rows.get(1).request().purchaseDate());
+	}
+
+	@Test
+	void semicolonSeparatorAcceptsBrazilianNumbersAndDates() throws IOException {
+		List<ImportRow> rows = read("\uFEFFtype;symbol;quantity;purchasePrice;purchaseDate\n"
+				+ "RENDA_FIXA;TESOURO;2;1234,56;15/03/2024\n");
+
+		assertEquals(new BigDecimal("1234.56"), rows.get(0).request().purchasePrice());
+		assertEquals(LocalDate.of(2024, 3, 15), rows.get(0).request().purchaseDate());
+	}
+
+	@Test
+	void malformedRowsAreRejectedWithTheirLineNumber() throws IOException {
+		List<ImportRow> rows = read("""
+				type,symbol,quantity,purchasePrice,purchaseDate
+				ACAO,"PETR4,10,12.50,2024-01-02
+				ACAO,PETR4,dez,12.50,2024-01-02
+				XYZ,PETR4,10,12.50,2024-01-02
+				ACAO,PETR4,10,12.50,2024-13-40
+				ACAO,PETR4,10,12.50,2024-01-02
+				""");
+
+		assertEquals(5, rows.size());
+		assertRejected(rows.get(0), 2, "Aspas não fechadas na linha.");
+		assertRejected(rows.get(1), 3, "Quantidade inválida: dez.");
+		assertRejected(rows.get(2), 4, "Tipo de ativo inválido: XYZ.");
+		assertRejected(rows.get(3), 5, "Data de compra inválida: 2024-13-40.");
+		assertEquals(6, rows.get(4).line());
+		assertNull(rows.get(4).error());
+	}
+
+	@Test
+	void missingFieldsAreLeftForValidation() throws IOException {
+		List<ImportRow> rows = read("""
+				type,symbol,quantity,purchasePrice,purchaseDate
+				ACAO,,10
+				""");
+
+		assertNull(rows.get(0).error());
+		assertEquals(new InvestmentRequestDTO(AssetType.ACAO, null, 10, null, null), rows.get(0).request());
+	}
+
+	@Test
+	void headerWithoutRequiredColumnRejectsTheFile() {
+		IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+				() -> read("type,symbol,quantity,price,purchaseDate\n"));
+		assertEquals("Coluna obrigatória ausente no cabeçalho do CSV: purchaseprice.", missing.getMessage());
+
+		assertThrows(IllegalArgumentException.class, () -> read(""));
+	}
+
+	private static List<ImportRow> read(String content) throws IOException {
+		List<ImportRow> rows = new ArrayList<>();
+		try (CsvRowReader reader = new CsvRowReader(new BufferedReader(new StringReader(content)))) {
+			for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	private static void assertRejected(ImportRow row, long line, String error) {
+		assertEquals(line, row.line());
+		assertNull(row.request());
+		assertEquals(error, row.error());
+	}
+}
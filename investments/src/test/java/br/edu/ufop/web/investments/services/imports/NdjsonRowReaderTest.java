@@ -0,0 +1,89 @@
+package br.edu.ufop.web.investments.services.imports;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.edu.ufop.web.investments.dtos.InvestmentRequestDTO;
+import br.edu.ufop.web.investments.enums.AssetType;
+
+class NdjsonRowReaderTest {
+
+	// Mesma configuração do ObjectMapper da aplicação (módulo de datas, campos desconhecidos ignorados)
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+	@Test
+	void readsOneRequestPerLine() throws IOException {
+		List<ImportRow> rows = read("""
+				{"type":"ACAO","symbol":"PETR4","quantity":10,"purchasePrice":12.50,"purchaseDate":"2024-01-02"}
+				{"type":"FUNDO","symbol":"HGLG11, FII","quantity":5,"purchasePrice":160,"purchaseDate":"2024-01-03","extra":1}
+				""");
+
+		assertEquals(2, rows.size());
+		assertEquals(new InvestmentRequestDTO(AssetType.ACAO, "PETR4", 10, new BigDecimal("12.50"),
+				LocalDate.of(2024, 1, 2)), rows.get(0).request());
+		assertEquals("HGLG11, FII", rows.get(1).request().symbol());
+		assertEquals(2, rows.get(1).line());
+	}
+
+	@Test
+	void acceptsCrlfAndSkipsBlankLinesKeepingLineNumbers() throws IOException {
+		List<ImportRow> rows = read("\r\n"
+				+ "{\"type\":\"CRIPTO\",\"symbol\":\"BTC\",\"quantity\":1,\"purchasePrice\":1,\"purchaseDate\":\"2024-01-02\"}\r\n"
+				+ "  \r\n"
+				+ "{\"type\":\"CRIPTO\",\"symbol\":\"ETH\",\"quantity\":2,\"purchasePrice\":1,\"purchaseDate\":\"2024-01-02\"}\r\n");
+
+		assertEquals(2, rows.size());
+		assertEquals(2, rows.get(0).line());
+		assertEquals(4, rows.get(1).line());
+		assertEquals("ETH", rows.get(1).request().symbol());
+	}
+
+	@Test
+	void malformedLinesAreRejectedWithoutAffectingTheNextOnes() throws IOException {
+		List<ImportRow> rows = read("""
+				{"type":"ACAO","symbol":"PETR4",
+				{"type":"XYZ","symbol":"PETR4","quantity":10,"purchasePrice":1,"purchaseDate":"2024-01-02"}
+				{"type":"ACAO","symbol":"PETR4","quantity":"dez","purchasePrice":1,"purchaseDate":"2024-01-02"}
+				[1, 2]
+				{"type":"ACAO","symbol":"PETR4","quantity":10,"purchasePrice":1,"purchaseDate":"2024-01-02"}
+				""");
+
+		assertEquals(5, rows.size());
+		assertRejected(rows.get(0), 1, "JSON inválido.");
+		assertRejected(rows.get(1), 2, "Valor inválido para o campo 'type'.");
+		assertRejected(rows.get(2), 3, "Valor inválido para o campo 'quantity'.");
+		assertRejected(rows.get(3), 4, "Linha não corresponde a um investimento.");
+		assertEquals(5, rows.get(4).line());
+		assertNull(rows.get(4).error());
+	}
+
+	private List<ImportRow> read(String content) throws IOException {
+		List<ImportRow> rows = new ArrayList<>();
+		try (NdjsonRowReader reader = new NdjsonRowReader(new BufferedReader(new StringReader(content)),
+				objectMapper.reader())) {
+			for (ImportRow row = reader.next(); row != null; row = reader.next()) {
+				rows.add(row);
+			}
+		}
+		return rows;
+	}
+
+	private static void assertRejected(ImportRow row, long line, String error) {
+		assertEquals(line, row.line());
+		assertNull(row.request());
+		assertEquals(error, row.error());
+	}
+}